@@ -0,0 +1,63 @@
+package com.xpanse.cp.product;
+
+import com.xpanse.cp.product.model.ProductDetails;
+import com.xpanse.cp.product.service.ProductManagementService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Helpers shared by the benchmarks that need the application context and its product store.
+ */
+public final class BenchmarkContexts {
+
+    public static final String LOG_CONFIG = "log4j2-benchmark.xml";
+
+    private BenchmarkContexts() {
+    }
+
+    /**
+     * @return running context without the web server, logging to the benchmark log file
+     */
+    public static ConfigurableApplicationContext start(String... profiles) {
+        return new SpringApplicationBuilder(ControlplaneProductManagementApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles(profiles)
+                .properties("logging.config=classpath:" + LOG_CONFIG)
+                .run();
+    }
+
+    /**
+     * Loads products BENCH-0 .. BENCH-(count - 1) through the bulk create path.
+     *
+     * @return ids of the created products
+     */
+    public static long[] populate(ProductManagementService service, int count) {
+        long[] productIds = new long[count];
+        int created = 0;
+        while (created < count) {
+            List<ProductDetails> batch = new ArrayList<>();
+            for (int i = created; i < Math.min(count, created + 1000); i++) {
+                batch.add(productDetails("BENCH-" + i));
+            }
+            for (var result : service.createProducts(batch).results()) {
+                productIds[created++] = result.productId();
+            }
+        }
+        return productIds;
+    }
+
+    public static ProductDetails productDetails(String productIdentifier) {
+        ProductDetails details = new ProductDetails();
+        details.setProductIdentifier(productIdentifier);
+        details.setProductName("Benchmark Product " + productIdentifier);
+        details.setExpirationDate("2099-12-31");
+        details.setEnvironmentsSupported(ProductDetails.EnvironmentsSupported.PRODUCTION);
+        details.setOwnerEmail("owner@example.com");
+        details.setAllowedTenants(List.of("tenant1", "tenant2"));
+        return details;
+    }
+}
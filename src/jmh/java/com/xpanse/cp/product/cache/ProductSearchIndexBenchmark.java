@@ -0,0 +1,74 @@
+package com.xpanse.cp.product.cache;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Type-ahead queries against a synthetic catalog, without Spring or the database.
+ * Names are two words out of small vocabularies plus a random suffix, so short prefixes and
+ * common trigrams match a large share of the catalog.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductSearchIndexBenchmark {
+
+    private static final String[] QUALIFIERS = {"Managed", "Cloud", "Secure", "Global", "Edge", "Smart", "Rapid",
+            "Enterprise", "Hybrid", "Private"};
+    private static final String[] SERVICES = {"Storage", "Network", "Database", "Compute", "Backup", "Gateway",
+            "Analytics", "Identity", "Queue", "Cache"};
+    private static final int LIMIT = 20;
+
+    @Param("100000")
+    private int catalogSize;
+
+    private ProductSearchIndex productSearchIndex;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        productSearchIndex = new ProductSearchIndex(null);
+        Random random = new Random(42);
+        for (int i = 1; i <= catalogSize; i++) {
+            String name = QUALIFIERS[random.nextInt(QUALIFIERS.length)] + " "
+                    + SERVICES[random.nextInt(SERVICES.length)] + " " + Integer.toString(random.nextInt(1 << 20), 36);
+            productSearchIndex.put((long) i, "PRD-" + (100_000 + i), name, false);
+        }
+    }
+
+    @Benchmark
+    public List<Long> prefixCommon() {
+        return productSearchIndex.search("clo", LIMIT, false);
+    }
+
+    @Benchmark
+    public List<Long> prefixSelective() {
+        return productSearchIndex.search("prd-1500", LIMIT, false);
+    }
+
+    @Benchmark
+    public List<Long> substringCommon() {
+        return productSearchIndex.search("ateway", LIMIT, false);
+    }
+
+    @Benchmark
+    public List<Long> substringRare() {
+        return productSearchIndex.search("orage zz", LIMIT, false);
+    }
+}
@@ -0,0 +1,43 @@
+package com.xpanse.cp.product.exception;
+
+import com.xpanse.cp.product.BenchmarkContexts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Error path as a missing id sees it: the domain exception is created and turned into an error response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j2.configurationFile=" + BenchmarkContexts.LOG_CONFIG)
+public class CustomExceptionHandlerBenchmark {
+
+    private final CustomExceptionHandler customExceptionHandler = new CustomExceptionHandler(new SimpleMeterRegistry());
+
+    @Benchmark
+    public ResponseEntity<?> productNotFound() {
+        long productId = ThreadLocalRandom.current().nextLong(1_000_000);
+        return customExceptionHandler.handleResourceNotFoundException(
+                new ProductNotFoundException("No Product found with id: | {} " + productId));
+    }
+
+    @Benchmark
+    public ResponseEntity<?> invalidRequest() {
+        return customExceptionHandler.handleInvalidRequestException(new InvalidRequestException("Invalid request"));
+    }
+}
@@ -0,0 +1,129 @@
+package com.xpanse.cp.product.model;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.xpanse.cp.product.BenchmarkContexts;
+import com.xpanse.cp.product.entity.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encoding cost of the negotiated body formats: JSON, CBOR and Smile, plus gzip of a list page as the
+ * server compression applies it. The wire sizes are printed at setup, next to the timings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j2.configurationFile=" + BenchmarkContexts.LOG_CONFIG)
+public class ProductEncodingBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    private ObjectWriter productWriter;
+    private ObjectWriter pageWriter;
+    private ObjectReader productDetailsReader;
+    private ProductView product;
+    private ProductPage page;
+    private byte[] productDetailsBody;
+    private byte[] pageBody;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().factory(factory()).build();
+        productWriter = objectMapper.writerFor(ProductView.class);
+        pageWriter = objectMapper.writerFor(ProductPage.class);
+        productDetailsReader = objectMapper.readerFor(ProductDetails.class);
+        List<ProductView> items = new ArrayList<>(PAGE_SIZE);
+        for (long i = 1; i <= PAGE_SIZE; i++) {
+            items.add(view(i));
+        }
+        product = items.get(0);
+        page = new ProductPage(items, (long) PAGE_SIZE);
+        productDetailsBody = objectMapper.writeValueAsBytes(BenchmarkContexts.productDetails("BENCH-1"));
+        pageBody = pageWriter.writeValueAsBytes(page);
+        System.out.printf("%n%s: product %d bytes, page of %d %d bytes, %d bytes gzipped%n", format,
+                productWriter.writeValueAsBytes(product).length, PAGE_SIZE, pageBody.length, gzip(pageBody).length);
+    }
+
+    @Benchmark
+    public byte[] serializeProduct() throws JsonProcessingException {
+        return productWriter.writeValueAsBytes(product);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return pageWriter.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] gzipPage() throws IOException {
+        return gzip(pageBody);
+    }
+
+    @Benchmark
+    public ProductDetails deserializeProductDetails() throws IOException {
+        return productDetailsReader.readValue(productDetailsBody);
+    }
+
+    private JsonFactory factory() {
+        return switch (format) {
+            case "json" -> new JsonFactory();
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            default -> throw new IllegalArgumentException("Unknown format " + format);
+        };
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(body);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static ProductView view(long productId) {
+        Product entity = Product.builder()
+                .productId(productId)
+                .productIdentifier("BENCH-" + productId)
+                .productName("Benchmark Product BENCH-" + productId)
+                .expirationDate(LocalDate.of(2099, 12, 31))
+                .environmentsSupported("PRODUCTION")
+                .ownerEmail("owner@example.com")
+                .allowedTenants(Set.of("tenant1", "tenant2"))
+                .build();
+        entity.setCreatedDate(LocalDateTime.of(2024, 1, 1, 0, 0));
+        entity.setVersion(0L);
+        return ProductView.of(entity);
+    }
+}
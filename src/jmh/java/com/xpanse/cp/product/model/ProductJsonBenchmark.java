@@ -0,0 +1,72 @@
+package com.xpanse.cp.product.model;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.xpanse.cp.product.BenchmarkContexts;
+import com.xpanse.cp.product.entity.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson (de)serialization of the request and response payloads, using the mapper defaults Spring Boot applies.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j2.configurationFile=" + BenchmarkContexts.LOG_CONFIG)
+public class ProductJsonBenchmark {
+
+    private ObjectWriter productWriter;
+    private ObjectReader productDetailsReader;
+    private ProductView product;
+    private byte[] productDetailsJson;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        productWriter = objectMapper.writerFor(ProductView.class);
+        productDetailsReader = objectMapper.readerFor(ProductDetails.class);
+        Product entity = Product.builder()
+                .productId(1L)
+                .productIdentifier("BENCH-1")
+                .productName("Benchmark Product BENCH-1")
+                .expirationDate(LocalDate.of(2099, 12, 31))
+                .environmentsSupported("PRODUCTION")
+                .ownerEmail("owner@example.com")
+                .allowedTenants(Set.of("tenant1", "tenant2"))
+                .build();
+        entity.setCreatedDate(LocalDateTime.of(2024, 1, 1, 0, 0));
+        entity.setVersion(0L);
+        product = ProductView.of(entity);
+        productDetailsJson = objectMapper.writeValueAsBytes(BenchmarkContexts.productDetails("BENCH-1"));
+    }
+
+    @Benchmark
+    public byte[] serializeProduct() throws JsonProcessingException {
+        return productWriter.writeValueAsBytes(product);
+    }
+
+    @Benchmark
+    public ProductDetails deserializeProductDetails() throws IOException {
+        return productDetailsReader.readValue(productDetailsJson);
+    }
+}
@@ -0,0 +1,40 @@
+package com.xpanse.cp.product.service;
+
+import com.xpanse.cp.product.BenchmarkContexts;
+import com.xpanse.cp.product.entity.Product;
+import com.xpanse.cp.product.model.ProductDetails;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request validation and request to entity mapping, without any persistence.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j2.configurationFile=" + BenchmarkContexts.LOG_CONFIG)
+public class ProductRequestMappingBenchmark {
+
+    private final ProductDetails request = BenchmarkContexts.productDetails("BENCH-1");
+
+    @Benchmark
+    public boolean isInvalidRequest() {
+        return ProductManagementServiceImpl.isInvalidRequest(request);
+    }
+
+    @Benchmark
+    public Product updateProductFromRequest() {
+        return ProductManagementServiceImpl.updateProductFromRequest(request);
+    }
+}
@@ -0,0 +1,123 @@
+package com.xpanse.cp.product.service;
+
+import com.xpanse.cp.product.BenchmarkContexts;
+import com.xpanse.cp.product.cache.ProductCache;
+import com.xpanse.cp.product.controller.ProductManagementController;
+import com.xpanse.cp.product.entity.APIResponse;
+import com.xpanse.cp.product.exception.CustomExceptionHandler;
+import com.xpanse.cp.product.exception.ProductNotFoundException;
+import com.xpanse.cp.product.model.ProductView;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service hot paths through the Spring proxies, against the embedded H2 store or, with store=memory,
+ * the in-memory store of the memory profile.
+ * getProductMissing covers a client probing missing ids through GET /{productId}, from the controller
+ * up to the error response, and should stay close to getByProductIdCached. getProductMissingConditional
+ * does the same with If-None-Match, which goes through the version lookup first.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j2.configurationFile=" + BenchmarkContexts.LOG_CONFIG)
+public class ProductServiceBenchmark {
+
+    private static final int CATALOG_SIZE = 10_000;
+    private static final long MISSING_ID_OFFSET = 1_000_000_000L;
+
+    @Param({"h2", "memory"})
+    private String store;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private ConfigurableApplicationContext context;
+    private ProductManagementService productManagementService;
+    private ProductCache productCache;
+    private ProductManagementController productManagementController;
+    private CustomExceptionHandler customExceptionHandler;
+    private long[] productIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = "memory".equals(store) ? BenchmarkContexts.start("memory") : BenchmarkContexts.start();
+        productManagementService = context.getBean(ProductManagementService.class);
+        productCache = context.getBean(ProductCache.class);
+        productManagementController = context.getBean(ProductManagementController.class);
+        customExceptionHandler = new CustomExceptionHandler(new SimpleMeterRegistry());
+        productIds = BenchmarkContexts.populate(productManagementService, CATALOG_SIZE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ProductView getByProductIdCached() {
+        return productManagementService.getByProductId(randomProductId());
+    }
+
+    @Benchmark
+    public ProductView getByProductIdUncached() {
+        long productId = randomProductId();
+        productCache.invalidate(productId);
+        return productManagementService.getByProductId(productId);
+    }
+
+    @Benchmark
+    public Object getProductMissing() {
+        return getProduct(MISSING_ID_OFFSET + randomProductId(), null);
+    }
+
+    @Benchmark
+    public Object getProductMissingConditional() {
+        return getProduct(MISSING_ID_OFFSET + randomProductId(), "\"1\"");
+    }
+
+    @Benchmark
+    public APIResponse createProduct() {
+        return productManagementService.createProduct(
+                BenchmarkContexts.productDetails("BENCH-NEW-" + sequence.incrementAndGet()));
+    }
+
+    private ResponseEntity<?> getProduct(long productId, String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/product/" + productId);
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        try {
+            return productManagementController.getProduct(productId,
+                    new ServletWebRequest(request, new MockHttpServletResponse()));
+        } catch (ProductNotFoundException e) {
+            return customExceptionHandler.handleResourceNotFoundException(e);
+        }
+    }
+
+    private long randomProductId() {
+        return productIds[ThreadLocalRandom.current().nextInt(productIds.length)];
+    }
+}
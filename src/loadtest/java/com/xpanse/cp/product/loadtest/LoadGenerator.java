@@ -0,0 +1,145 @@
+package com.xpanse.cp.product.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load: requests are scheduled at a fixed arrival rate, whatever the response times, and
+ * sent by a fixed pool of client threads. Latency is measured from the scheduled start, so when the
+ * server stalls and requests queue up behind busy threads the wait is counted rather than hidden
+ * (coordinated omission). Service time, from the actual send, is recorded next to it.
+ */
+final class LoadGenerator {
+
+    /** histogram precision, three significant digits */
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final long START_DELAY_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    /** fractional part of the golden ratio, spreads the operations evenly over the schedule */
+    private static final double GOLDEN_FRACTION = 0.6180339887498949;
+
+    /**
+     * @return true when the request succeeded
+     */
+    @FunctionalInterface
+    interface Request {
+        boolean send() throws Exception;
+    }
+
+    /**
+     * @param name   operation name in the report
+     * @param weight relative share of the scheduled requests
+     */
+    record Operation(String name, double weight, Request request) {
+    }
+
+    private final List<Operation> operations;
+    private final double totalWeight;
+    private final int concurrency;
+    private final double rate;
+
+    LoadGenerator(List<Operation> operations, int concurrency, double rate) {
+        this.operations = List.copyOf(operations);
+        this.totalWeight = operations.stream().mapToDouble(Operation::weight).sum();
+        this.concurrency = concurrency;
+        this.rate = rate;
+    }
+
+    /**
+     * Schedules requests for the given duration and waits until the last one completed.
+     */
+    LoadReport run(Duration duration) throws InterruptedException {
+        Map<String, Recording> recordings = new LinkedHashMap<>();
+        operations.forEach(operation -> recordings.put(operation.name(), new Recording()));
+        double intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        AtomicLong scheduled = new AtomicLong();
+        AtomicLong lastCompletion = new AtomicLong();
+        long start = System.nanoTime() + START_DELAY_NANOS;
+        long end = start + duration.toNanos();
+
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            clients.execute(() -> {
+                long index;
+                long intended;
+                while ((intended = start + (long) ((index = scheduled.getAndIncrement()) * intervalNanos)) < end) {
+                    long wait;
+                    while ((wait = intended - System.nanoTime()) > 0) {
+                        LockSupport.parkNanos(wait);
+                    }
+                    Operation operation = pick(index);
+                    long sent = System.nanoTime();
+                    boolean succeeded;
+                    try {
+                        succeeded = operation.request().send();
+                    } catch (Exception e) {
+                        succeeded = false;
+                    }
+                    long completed = System.nanoTime();
+                    recordings.get(operation.name()).record(intended, sent, completed, succeeded);
+                    lastCompletion.accumulateAndGet(completed, Math::max);
+                }
+            });
+        }
+        clients.shutdown();
+        if (!clients.awaitTermination(duration.toSeconds() + 120, TimeUnit.SECONDS)) {
+            clients.shutdownNow();
+            throw new IllegalStateException("Load test requests did not complete in time");
+        }
+
+        double elapsedSeconds = (lastCompletion.get() - start) / (double) TimeUnit.SECONDS.toNanos(1);
+        Histogram allLatency = new Histogram(SIGNIFICANT_DIGITS);
+        Histogram allService = new Histogram(SIGNIFICANT_DIGITS);
+        long allErrors = 0;
+        Map<String, LoadReport.OperationStats> stats = new LinkedHashMap<>();
+        for (Map.Entry<String, Recording> entry : recordings.entrySet()) {
+            Recording recording = entry.getValue();
+            stats.put(entry.getKey(), LoadReport.OperationStats.of(recording.latency, recording.service,
+                    recording.errors.sum(), elapsedSeconds));
+            allLatency.add(recording.latency);
+            allService.add(recording.service);
+            allErrors += recording.errors.sum();
+        }
+        stats.put(LoadReport.ALL, LoadReport.OperationStats.of(allLatency, allService, allErrors, elapsedSeconds));
+        return new LoadReport(concurrency, rate, duration.toSeconds(), stats);
+    }
+
+    /**
+     * Deterministic mix, so every run sends each operation the same number of times.
+     */
+    private Operation pick(long index) {
+        double point = (index * GOLDEN_FRACTION) % 1.0 * totalWeight;
+        for (Operation operation : operations) {
+            point -= operation.weight();
+            if (point < 0) {
+                return operation;
+            }
+        }
+        return operations.get(operations.size() - 1);
+    }
+
+    /** latencies in microseconds, the histograms resize as needed */
+    private static final class Recording {
+        private final Histogram latency = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+        private final Histogram service = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+        private final LongAdder errors = new LongAdder();
+
+        void record(long intended, long sent, long completed, boolean succeeded) {
+            latency.recordValue(TimeUnit.NANOSECONDS.toMicros(completed - intended));
+            service.recordValue(TimeUnit.NANOSECONDS.toMicros(completed - sent));
+            if (!succeeded) {
+                errors.increment();
+            }
+        }
+    }
+}
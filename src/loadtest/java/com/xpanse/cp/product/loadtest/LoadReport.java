@@ -0,0 +1,114 @@
+package com.xpanse.cp.product.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Throughput and latency of one load test run, per operation and for all of them together.
+ * Latencies are in milliseconds, measured from the scheduled start of each request.
+ *
+ * @param concurrency     client threads of the run
+ * @param rate            scheduled requests per second
+ * @param durationSeconds length of the measured run
+ * @param operations      statistics by operation name, plus {@link #ALL}
+ */
+record LoadReport(int concurrency, double rate, long durationSeconds, Map<String, OperationStats> operations) {
+
+    static final String ALL = "all";
+
+    private static final ObjectMapper JSON = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    /**
+     * @param count             completed requests
+     * @param errors            requests that failed or returned an unexpected status
+     * @param throughput        completed requests per second
+     * @param serviceP99Millis  p99 from the actual send, without the time spent waiting for a client thread
+     */
+    record OperationStats(long count,
+                          long errors,
+                          double throughput,
+                          double p50Millis,
+                          double p90Millis,
+                          double p99Millis,
+                          double p999Millis,
+                          double maxMillis,
+                          double serviceP99Millis) {
+
+        static OperationStats of(Histogram latency, Histogram service, long errors, double elapsedSeconds) {
+            return new OperationStats(latency.getTotalCount(), errors,
+                    elapsedSeconds > 0 ? latency.getTotalCount() / elapsedSeconds : 0,
+                    millis(latency.getValueAtPercentile(50)), millis(latency.getValueAtPercentile(90)),
+                    millis(latency.getValueAtPercentile(99)), millis(latency.getValueAtPercentile(99.9)),
+                    millis(latency.getMaxValue()), millis(service.getValueAtPercentile(99)));
+        }
+
+        private static double millis(long micros) {
+            return micros / MICROS_PER_MILLI;
+        }
+    }
+
+    static LoadReport read(Path path) throws IOException {
+        return JSON.readValue(path.toFile(), LoadReport.class);
+    }
+
+    void write(Path path) throws IOException {
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        JSON.writeValue(path.toFile(), this);
+    }
+
+    long errors() {
+        return operations.get(ALL).errors();
+    }
+
+    /**
+     * @return one line per operation where p99 grew or throughput dropped beyond the allowed ratio,
+     * empty when the run is within the baseline
+     */
+    List<String> regressionsAgainst(LoadReport baseline, double maxP99Regression, double maxThroughputRegression) {
+        List<String> regressions = new ArrayList<>();
+        if (baseline.concurrency() != concurrency || baseline.rate() != rate) {
+            regressions.add(String.format(Locale.ROOT, "baseline was recorded at concurrency %d and rate %.0f/s,"
+                    + " rerun with those settings or with -Dloadtest.update-baseline=true",
+                    baseline.concurrency(), baseline.rate()));
+            return regressions;
+        }
+        baseline.operations().forEach((name, expected) -> {
+            OperationStats actual = operations.get(name);
+            if (actual == null) {
+                regressions.add(name + ": not measured");
+                return;
+            }
+            if (actual.p99Millis() > expected.p99Millis() * (1 + maxP99Regression)) {
+                regressions.add(String.format(Locale.ROOT, "%s: p99 %.2f ms, baseline %.2f ms + %.0f%%",
+                        name, actual.p99Millis(), expected.p99Millis(), maxP99Regression * 100));
+            }
+            if (actual.throughput() < expected.throughput() * (1 - maxThroughputRegression)) {
+                regressions.add(String.format(Locale.ROOT, "%s: throughput %.1f/s, baseline %.1f/s - %.0f%%",
+                        name, actual.throughput(), expected.throughput(), maxThroughputRegression * 100));
+            }
+        });
+        return regressions;
+    }
+
+    String toTable() {
+        StringBuilder table = new StringBuilder(String.format(Locale.ROOT,
+                "concurrency %d, rate %.0f/s, %d s%n%-8s %8s %6s %9s %8s %8s %8s %8s %8s %11s%n",
+                concurrency, rate, durationSeconds,
+                "op", "count", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "svc p99 ms"));
+        operations.forEach((name, stats) -> table.append(String.format(Locale.ROOT,
+                "%-8s %8d %6d %9.1f %8.2f %8.2f %8.2f %8.2f %8.2f %11.2f%n",
+                name, stats.count(), stats.errors(), stats.throughput(), stats.p50Millis(), stats.p90Millis(),
+                stats.p99Millis(), stats.p999Millis(), stats.maxMillis(), stats.serviceP99Millis())));
+        return table.toString();
+    }
+}
@@ -0,0 +1,52 @@
+package com.xpanse.cp.product.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Load test parameters, read from system properties so they can be given on the Maven command line,
+ * e.g. -Dloadtest.rate=500 -Dloadtest.duration=PT1M.
+ *
+ * @param concurrency             client threads, the most requests in flight at once
+ * @param rate                    scheduled requests per second, across all operations
+ * @param warmup                  run before the measurement, not recorded
+ * @param duration                length of one measured round
+ * @param rounds                  measured rounds, the one with the lowest p99 is compared with the baseline, so a
+ *                                noisy neighbour does not fail the build while a real regression still does
+ * @param createRatio             share of creates in the mix, the rest are gets by id
+ * @param catalogSize             products created before the warm-up, read by the gets
+ * @param maxP99Regression        allowed p99 increase over the baseline, 0.2 for 20 %, raise it on noisy machines
+ * @param maxThroughputRegression allowed throughput drop below the baseline, 0.1 for 10 %
+ * @param baseline                stored report the run is compared with
+ * @param reportDirectory         where report.json and report.txt are written
+ * @param updateBaseline          overwrite the baseline with this run instead of comparing
+ */
+record LoadTestSettings(int concurrency,
+                        double rate,
+                        Duration warmup,
+                        Duration duration,
+                        int rounds,
+                        double createRatio,
+                        int catalogSize,
+                        double maxP99Regression,
+                        double maxThroughputRegression,
+                        Path baseline,
+                        Path reportDirectory,
+                        boolean updateBaseline) {
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Integer.getInteger("loadtest.concurrency", 16),
+                Double.parseDouble(System.getProperty("loadtest.rate", "200")),
+                Duration.parse(System.getProperty("loadtest.warmup", "PT10S")),
+                Duration.parse(System.getProperty("loadtest.duration", "PT20S")),
+                Integer.getInteger("loadtest.rounds", 3),
+                Double.parseDouble(System.getProperty("loadtest.create-ratio", "0.1")),
+                Integer.getInteger("loadtest.catalog-size", 2000),
+                Double.parseDouble(System.getProperty("loadtest.max-p99-regression", "0.2")),
+                Double.parseDouble(System.getProperty("loadtest.max-throughput-regression", "0.1")),
+                Path.of(System.getProperty("loadtest.baseline", "src/loadtest/resources/load-test-baseline.json")),
+                Path.of(System.getProperty("loadtest.report-dir", "target/load-test")),
+                Boolean.getBoolean("loadtest.update-baseline"));
+    }
+}
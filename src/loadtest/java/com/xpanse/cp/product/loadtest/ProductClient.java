@@ -0,0 +1,97 @@
+package com.xpanse.cp.product.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.xpanse.cp.product.model.BatchCreateResponse;
+import com.xpanse.cp.product.model.BatchCreateResult;
+import com.xpanse.cp.product.model.ProductDetails;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal HTTP client of the product endpoints, keeping connections alive between requests.
+ */
+final class ProductClient {
+
+    private static final int POPULATE_BATCH_SIZE = 1000;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(REQUEST_TIMEOUT)
+            .build();
+    private final String baseUri;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @param baseUri root of the product API, including the context path
+     */
+    ProductClient(String baseUri, ObjectMapper objectMapper) {
+        this.baseUri = baseUri;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Creates products LOAD-&lt;prefix&gt;-0 .. count - 1 through the bulk endpoint.
+     *
+     * @return ids of the created products
+     */
+    long[] populate(String prefix, int count) throws IOException, InterruptedException {
+        long[] productIds = new long[count];
+        int created = 0;
+        while (created < count) {
+            List<ProductDetails> batch = new ArrayList<>();
+            for (int i = created; i < Math.min(count, created + POPULATE_BATCH_SIZE); i++) {
+                batch.add(productDetails("LOAD-" + prefix + "-" + i));
+            }
+            HttpResponse<byte[]> response = send(post("batch", batch));
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Populating the catalog failed with status " + response.statusCode());
+            }
+            for (BatchCreateResult result : objectMapper.readValue(response.body(), BatchCreateResponse.class).results()) {
+                productIds[created++] = result.productId();
+            }
+        }
+        return productIds;
+    }
+
+    boolean create(String productIdentifier) throws IOException, InterruptedException {
+        return send(post("", productDetails(productIdentifier))).statusCode() == 201;
+    }
+
+    boolean get(long productId) throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(URI.create(baseUri + "/" + productId))
+                .timeout(REQUEST_TIMEOUT)
+                .GET()
+                .build()).statusCode() == 200;
+    }
+
+    private HttpRequest post(String path, Object body) throws IOException {
+        return HttpRequest.newBuilder(URI.create(baseUri + "/" + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                .build();
+    }
+
+    private HttpResponse<byte[]> send(HttpRequest request) throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private static ProductDetails productDetails(String productIdentifier) {
+        ProductDetails details = new ProductDetails();
+        details.setProductIdentifier(productIdentifier);
+        details.setProductName("Load Test Product " + productIdentifier);
+        details.setExpirationDate("2099-12-31");
+        details.setEnvironmentsSupported(ProductDetails.EnvironmentsSupported.PRODUCTION);
+        details.setOwnerEmail("owner@example.com");
+        details.setAllowedTenants(List.of("tenant1", "tenant2"));
+        return details;
+    }
+}
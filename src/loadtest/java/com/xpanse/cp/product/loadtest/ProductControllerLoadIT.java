@@ -0,0 +1,75 @@
+package com.xpanse.cp.product.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Mixed create and get load against the controller over HTTP, through Tomcat, the connection pool and
+ * Hibernate. The best of several rounds is compared with the stored baseline.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "logging.config=classpath:log4j2-loadtest.xml")
+class ProductControllerLoadIT {
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${server.servlet.context-path}")
+    private String contextPath;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void mixedCreateAndGet_StaysWithinBaseline() throws Exception {
+        // Arrange
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        ProductClient client = new ProductClient("http://localhost:" + port + contextPath, objectMapper);
+        long[] productIds = client.populate("CATALOG", settings.catalogSize());
+        AtomicLong created = new AtomicLong();
+        LoadGenerator generator = new LoadGenerator(List.of(
+                new LoadGenerator.Operation("create", settings.createRatio(),
+                        () -> client.create("LOAD-NEW-" + created.incrementAndGet())),
+                new LoadGenerator.Operation("get", 1 - settings.createRatio(),
+                        () -> client.get(productIds[ThreadLocalRandom.current().nextInt(productIds.length)]))),
+                settings.concurrency(), settings.rate());
+        generator.run(settings.warmup());
+
+        // Act
+        List<LoadReport> rounds = new ArrayList<>();
+        for (int i = 0; i < settings.rounds(); i++) {
+            rounds.add(generator.run(settings.duration()));
+        }
+
+        // Assert
+        LoadReport report = rounds.stream()
+                .min(Comparator.comparingDouble(round -> round.operations().get(LoadReport.ALL).p99Millis()))
+                .orElseThrow();
+        report.write(settings.reportDirectory().resolve("report.json"));
+        String tables = rounds.stream().map(LoadReport::toTable).collect(Collectors.joining("\n"));
+        Files.writeString(settings.reportDirectory().resolve("report.txt"), tables);
+        System.out.print(tables);
+        assertEquals(0, rounds.stream().mapToLong(LoadReport::errors).sum(), "failed requests");
+        if (settings.updateBaseline()) {
+            report.write(settings.baseline());
+            return;
+        }
+        List<String> regressions = report.regressionsAgainst(LoadReport.read(settings.baseline()),
+                settings.maxP99Regression(), settings.maxThroughputRegression());
+        assertTrue(regressions.isEmpty(), String.join("\n", regressions));
+    }
+}
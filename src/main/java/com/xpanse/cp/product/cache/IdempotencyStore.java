@@ -0,0 +1,88 @@
+package com.xpanse.cp.product.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.xpanse.cp.product.exception.InvalidRequestException;
+import com.xpanse.cp.product.exception.ProductConflictException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Responses of completed requests by Idempotency-Key, bounded by size and TTL.
+ * The first request with a key runs, later requests with the same key get its response without
+ * running again; requests arriving while the first is still running wait for it, up to the wait
+ * timeout, and are answered 409 after that. Failed requests are not remembered, so a retry after an
+ * error runs again.
+ */
+@Component
+public class IdempotencyStore {
+
+    private final Cache<String, Entry> entries;
+    private final Duration waitTimeout;
+
+    public IdempotencyStore(@Value("${product.idempotency.maximum-size:100000}") long maximumSize,
+                            @Value("${product.idempotency.expire-after-write:PT24H}") Duration expireAfterWrite,
+                            @Value("${product.idempotency.wait-timeout:PT10S}") Duration waitTimeout) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+        this.waitTimeout = waitTimeout;
+    }
+
+    /**
+     * @param key     client supplied Idempotency-Key
+     * @param request request body, a key reused with a different body is rejected
+     * @param action  performs the request, run at most once per key while its response is retained
+     * @return response of the first request made with the key
+     * @throws ProductConflictException when the first request is still running after the wait timeout
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Object request, Supplier<T> action) {
+        Entry created = new Entry(request, new CompletableFuture<>());
+        Entry existing = entries.asMap().putIfAbsent(key, created);
+        if (existing != null) {
+            if (!Objects.equals(existing.request(), request)) {
+                throw new InvalidRequestException("Idempotency-Key already used for a different request");
+            }
+            return (T) await(existing);
+        }
+        try {
+            T response = action.get();
+            created.response().complete(response);
+            return response;
+        } catch (Throwable e) {
+            // errors included, a pending entry left behind would hold every retry with the key until it expires
+            entries.asMap().remove(key, created);
+            created.response().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private Object await(Entry existing) {
+        try {
+            return existing.response().get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Request with the same Idempotency-Key failed", e.getCause());
+        } catch (TimeoutException e) {
+            throw new ProductConflictException("Request with the same Idempotency-Key is still in progress");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProductConflictException("Request with the same Idempotency-Key is still in progress");
+        }
+    }
+
+    private record Entry(Object request, CompletableFuture<Object> response) {
+    }
+}
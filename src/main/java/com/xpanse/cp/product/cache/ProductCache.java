@@ -0,0 +1,164 @@
+package com.xpanse.cp.product.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.xpanse.cp.product.event.ProductChangedEvent;
+import com.xpanse.cp.product.model.ProductCacheStats;
+import com.xpanse.cp.product.model.ProductView;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * In-process read-through cache of immutable product views by id.
+ * Backed by Caffeine (W-TinyLFU eviction), bounded by size and TTL. Concurrent misses
+ * on the same id are collapsed into a single load. Ids that were looked up and not found are
+ * remembered for a short time, so clients probing missing ids do not reach the database on
+ * every request. Bulk loads are cached only when no invalidation ran while they read, so a view read
+ * before a commit cannot replace the invalidation that commit caused. Hit, miss and eviction counts are
+ * published as cache.* metrics with cache=products.
+ */
+@Component
+public class ProductCache implements MeterBinder {
+
+    private final Cache<Long, ProductView> cache;
+    private final Cache<Long, Boolean> missing;
+    /** bumped before every invalidation, a load that saw it move may have read the state before the change */
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public ProductCache(@Value("${product.cache.maximum-size:10000}") long maximumSize,
+                        @Value("${product.cache.expire-after-write:PT10M}") Duration expireAfterWrite,
+                        @Value("${product.cache.missing-expire-after-write:PT5S}") Duration missingExpireAfterWrite) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        this.missing = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(missingExpireAfterWrite)
+                .build();
+    }
+
+    /**
+     * @param productId id of the product to return
+     * @param loader    called at most once per id for concurrent misses, may return null
+     * @return cached or freshly loaded product, null when the loader found nothing
+     */
+    public ProductView get(Long productId, Function<Long, ProductView> loader) {
+        return cache.get(productId, loader);
+    }
+
+    /**
+     * @return true when the id was recently looked up and not found
+     */
+    public boolean isKnownMissing(Long productId) {
+        return missing.getIfPresent(productId) != null;
+    }
+
+    /**
+     * @return token to take before looking a product up, for {@link #markMissing}
+     */
+    public long generation() {
+        return invalidations.get();
+    }
+
+    /**
+     * Remembers the id as missing, unless a change was invalidated since the lookup that found nothing began:
+     * the product may have been created in between and must not be answered 404.
+     *
+     * @param generation taken with {@link #generation} before the lookup
+     */
+    public void markMissing(Long productId, long generation) {
+        missing.asMap().compute(productId, (id, known) -> invalidations.get() == generation ? Boolean.TRUE : known);
+    }
+
+    /**
+     * @return cached product, null when it is not cached
+     */
+    public ProductView getIfPresent(Long productId) {
+        return cache.getIfPresent(productId);
+    }
+
+    /**
+     * Unlike {@link #get}, concurrent misses are not collapsed: Caffeine's bulk load puts its results
+     * without a lock, after any invalidation that ran meanwhile, so the loaded views are stored here
+     * one by one, each under its key's lock and only when nothing was invalidated since the load began.
+     *
+     * @param productIds ids of the products to return
+     * @param loader     called once with all ids that are not cached, may leave out ids it could not find
+     * @return cached and freshly loaded products by id, without the ids the loader did not return
+     */
+    public Map<Long, ProductView> getAll(Iterable<Long> productIds,
+                                     Function<Set<Long>, Map<Long, ProductView>> loader) {
+        Map<Long, ProductView> products = new HashMap<>(cache.getAllPresent(productIds));
+        Set<Long> misses = new LinkedHashSet<>();
+        for (Long productId : productIds) {
+            if (!products.containsKey(productId)) {
+                misses.add(productId);
+            }
+        }
+        if (misses.isEmpty()) {
+            return products;
+        }
+        long generation = invalidations.get();
+        for (ProductView loaded : loader.apply(Collections.unmodifiableSet(misses)).values()) {
+            products.put(loaded.productId(), loaded);
+            cache.asMap().compute(loaded.productId(), (productId, cached) ->
+                    invalidations.get() != generation || isNewer(cached, loaded) ? cached : loaded);
+        }
+        return products;
+    }
+
+    public void put(ProductView product) {
+        cache.put(product.productId(), product);
+        missing.invalidate(product.productId());
+    }
+
+    public void invalidate(Long productId) {
+        invalidations.incrementAndGet();
+        cache.invalidate(productId);
+        missing.invalidate(productId);
+    }
+
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        cache.invalidateAll();
+        missing.invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        invalidate(event.productId());
+    }
+
+    private static boolean isNewer(ProductView cached, ProductView loaded) {
+        return cached != null && cached.version() != null
+                && (loaded.version() == null || cached.version() >= loaded.version());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "products");
+    }
+
+    public ProductCacheStats stats() {
+        CacheStats stats = cache.stats();
+        return new ProductCacheStats(cache.estimatedSize(), stats.hitCount(), stats.missCount(), stats.hitRate(),
+                stats.loadSuccessCount(), stats.loadFailureCount(), stats.totalLoadTime(),
+                stats.averageLoadPenalty(), stats.evictionCount());
+    }
+}
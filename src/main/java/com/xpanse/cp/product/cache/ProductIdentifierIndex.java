@@ -0,0 +1,85 @@
+package com.xpanse.cp.product.cache;
+
+import com.xpanse.cp.product.event.ProductChangedEvent;
+import com.xpanse.cp.product.repository.ProductKey;
+import com.xpanse.cp.product.repository.ProductStore;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory productIdentifier to productId index, warmed at startup and kept up to date on writes.
+ * Serves lookups by business key and lets the create path reject known duplicates without a query.
+ * Identifiers that are not in the index are only probably new, the unique index on productIdentifier
+ * stays the source of truth. Changes are applied per product in version order, a late event for an
+ * older version would otherwise bring back an identifier a newer rename released.
+ */
+@Component
+public class ProductIdentifierIndex {
+    private static final Logger logger = LogManager.getLogger(ProductIdentifierIndex.class);
+
+    /** marks an identifier known to exist whose id has not been resolved yet */
+    private static final Long UNRESOLVED_ID = -1L;
+
+    private final ProductStore productStore;
+    private final Map<String, Long> productIds = new ConcurrentHashMap<>();
+    /** version of the last change applied per product, its lock orders the changes of one product */
+    private final Map<Long, Long> appliedVersions = new ConcurrentHashMap<>();
+
+    public ProductIdentifierIndex(ProductStore productStore) {
+        this.productStore = productStore;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        for (ProductKey key : productStore.findAllProductKeys()) {
+            productIds.put(key.productIdentifier(), key.productId());
+        }
+        logger.info("product-management-api | Warmed {} product identifiers", productIds.size());
+    }
+
+    public boolean contains(String productIdentifier) {
+        return productIds.containsKey(productIdentifier);
+    }
+
+    /**
+     * @return id of the product with the given identifier, null when it is unknown or not resolved yet
+     */
+    public Long getProductId(String productIdentifier) {
+        Long productId = productIds.get(productIdentifier);
+        return UNRESOLVED_ID.equals(productId) ? null : productId;
+    }
+
+    public void put(String productIdentifier, Long productId) {
+        productIds.put(productIdentifier, productId);
+    }
+
+    /**
+     * Records an identifier known to exist without its id, e.g. after a unique constraint violation.
+     */
+    public void markExisting(String productIdentifier) {
+        productIds.putIfAbsent(productIdentifier, UNRESOLVED_ID);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        Long version = event.product().getVersion();
+        appliedVersions.compute(event.productId(), (productId, applied) -> {
+            if (applied != null && version != null && applied > version) {
+                return applied;
+            }
+            String previous = event.previousProductIdentifier();
+            if (previous != null && !previous.equals(event.product().getProductIdentifier())) {
+                productIds.remove(previous, productId);
+            }
+            put(event.product().getProductIdentifier(), productId);
+            return version == null ? applied : version;
+        });
+    }
+}
@@ -0,0 +1,275 @@
+package com.xpanse.cp.product.cache;
+
+import com.xpanse.cp.product.entity.Product;
+import com.xpanse.cp.product.event.ProductChangedEvent;
+import com.xpanse.cp.product.model.ProductSearchStats;
+import com.xpanse.cp.product.repository.ProductSearchKey;
+import com.xpanse.cp.product.repository.ProductStore;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory type-ahead index over productName and productIdentifier, warmed at startup and kept up to
+ * date on writes.
+ * Prefix queries scan a sorted set of (term, productId) entries, where the terms are the lowercased
+ * name and identifier and every word in them, so a range scan behaves like a trie walk. Substring queries
+ * intersect the trigram posting lists of the query, smallest first, and check the candidates against the
+ * indexed text. Prefix matches come first in term order, then substring matches in productId order.
+ * Writes are serialized, reads never lock.
+ */
+@Component
+public class ProductSearchIndex implements MeterBinder {
+    private static final Logger logger = LogManager.getLogger(ProductSearchIndex.class);
+
+    private static final int GRAM = 3;
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    /** approximate retained sizes on a 64-bit JVM with compressed references, strings counted separately */
+    private static final long DOCUMENT_BYTES = 72;
+    private static final long STRING_BYTES = 40;
+    private static final long PREFIX_ENTRY_BYTES = 60;
+    private static final long POSTING_BYTES = 36;
+    private static final long TRIGRAM_BYTES = 200;
+
+    private final ProductStore productStore;
+    private final NavigableSet<Term> prefixes = new ConcurrentSkipListSet<>();
+    private final Map<String, PostingList> trigrams = new ConcurrentHashMap<>();
+    private final Map<Long, Document> documents = new ConcurrentHashMap<>();
+
+    /** guarded by this, volatile for the stats readers */
+    private volatile long prefixCount;
+    private volatile long postingCount;
+    private volatile long textBytes;
+
+    public ProductSearchIndex(ProductStore productStore) {
+        this.productStore = productStore;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        for (ProductSearchKey key : productStore.findAllSearchKeys()) {
+            put(key.productId(), key.productIdentifier(), key.productName(), key.expired());
+        }
+        logger.info("product-management-api | Warmed search index with {} products, about {} bytes per product",
+                documents.size(), stats().estimatedBytesPerProduct());
+    }
+
+    /**
+     * @param query          prefix or, from three characters on, substring of a product name or identifier
+     * @param limit          maximum number of ids returned
+     * @param excludeExpired leave out products flagged as expired
+     * @return ids of matching products, prefix matches first
+     */
+    public List<Long> search(String query, int limit, boolean excludeExpired) {
+        String text = normalize(query.strip());
+        if (text.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> matches = new LinkedHashSet<>();
+        for (Term term : prefixes.subSet(new Term(text, Long.MIN_VALUE), true,
+                new Term(text + Character.MAX_VALUE, Long.MIN_VALUE), false)) {
+            if (matches.size() == limit) {
+                break;
+            }
+            if (isVisible(term.productId(), excludeExpired)) {
+                matches.add(term.productId());
+            }
+        }
+        if (matches.size() < limit && text.length() >= GRAM) {
+            addSubstringMatches(text, limit, excludeExpired, matches);
+        }
+        return new ArrayList<>(matches);
+    }
+
+    public synchronized void put(Long productId, String productIdentifier, String productName, boolean expired) {
+        Document document = new Document(normalize(productIdentifier), normalize(productName), expired);
+        Document previous = documents.put(productId, document);
+        if (previous != null) {
+            if (previous.identifier().equals(document.identifier()) && previous.name().equals(document.name())) {
+                return;
+            }
+            unindex(productId, previous);
+        }
+        index(productId, document);
+    }
+
+    public synchronized void markExpired(Long productId) {
+        documents.computeIfPresent(productId, (id, document) ->
+                new Document(document.identifier(), document.name(), true));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.changeType() == ProductChangedEvent.ChangeType.EXPIRED) {
+            markExpired(event.productId());
+            return;
+        }
+        Product product = event.product();
+        put(product.getProductId(), product.getProductIdentifier(), product.getProductName(), product.isExpired());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("product.search.products", documents, Map::size)
+                .description("Products in the search index")
+                .register(registry);
+        Gauge.builder("product.search.memory", this, index -> index.stats().estimatedBytes())
+                .description("Estimated heap retained by the search index")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    public ProductSearchStats stats() {
+        long products = documents.size();
+        long trigramCount = trigrams.size();
+        long estimatedBytes = products * DOCUMENT_BYTES + textBytes + prefixCount * PREFIX_ENTRY_BYTES
+                + postingCount * POSTING_BYTES + trigramCount * TRIGRAM_BYTES;
+        return new ProductSearchStats(products, prefixCount, trigramCount, postingCount, estimatedBytes,
+                products == 0 ? 0 : estimatedBytes / products);
+    }
+
+    private void addSubstringMatches(String text, int limit, boolean excludeExpired, Set<Long> matches) {
+        List<PostingList> lists = new ArrayList<>();
+        for (String gram : grams(text)) {
+            PostingList list = trigrams.get(gram);
+            if (list == null) {
+                return;
+            }
+            lists.add(list);
+        }
+        PostingList smallest = lists.get(0);
+        for (PostingList list : lists) {
+            if (list.size < smallest.size) {
+                smallest = list;
+            }
+        }
+        candidates:
+        for (Long productId : smallest.productIds) {
+            if (matches.size() == limit) {
+                return;
+            }
+            for (PostingList list : lists) {
+                if (list != smallest && !list.productIds.contains(productId)) {
+                    continue candidates;
+                }
+            }
+            Document document = documents.get(productId);
+            if (document != null && !(excludeExpired && document.expired())
+                    && (document.name().contains(text) || document.identifier().contains(text))) {
+                matches.add(productId);
+            }
+        }
+    }
+
+    private boolean isVisible(Long productId, boolean excludeExpired) {
+        Document document = documents.get(productId);
+        return document != null && !(excludeExpired && document.expired());
+    }
+
+    /** guarded by this */
+    private void index(Long productId, Document document) {
+        for (String term : terms(document)) {
+            if (prefixes.add(new Term(term, productId))) {
+                prefixCount++;
+                textBytes += STRING_BYTES + term.length();
+            }
+        }
+        for (String gram : grams(document)) {
+            PostingList list = trigrams.computeIfAbsent(gram, key -> new PostingList());
+            if (list.productIds.add(productId)) {
+                list.size++;
+                postingCount++;
+            }
+        }
+        textBytes += 2 * STRING_BYTES + document.identifier().length() + document.name().length();
+    }
+
+    /** guarded by this */
+    private void unindex(Long productId, Document document) {
+        for (String term : terms(document)) {
+            if (prefixes.remove(new Term(term, productId))) {
+                prefixCount--;
+                textBytes -= STRING_BYTES + term.length();
+            }
+        }
+        for (String gram : grams(document)) {
+            PostingList list = trigrams.get(gram);
+            if (list != null && list.productIds.remove(productId)) {
+                list.size--;
+                postingCount--;
+                if (list.size == 0) {
+                    trigrams.remove(gram);
+                }
+            }
+        }
+        textBytes -= 2 * STRING_BYTES + document.identifier().length() + document.name().length();
+    }
+
+    private static Set<String> terms(Document document) {
+        Set<String> terms = new HashSet<>();
+        for (String text : List.of(document.identifier(), document.name())) {
+            if (!text.isEmpty()) {
+                terms.add(text);
+                for (String word : WORD_SEPARATOR.split(text)) {
+                    if (!word.isEmpty()) {
+                        terms.add(word);
+                    }
+                }
+            }
+        }
+        return terms;
+    }
+
+    private static Set<String> grams(Document document) {
+        Set<String> grams = grams(document.identifier());
+        grams.addAll(grams(document.name()));
+        return grams;
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private record Document(String identifier, String name, boolean expired) {
+    }
+
+    private record Term(String text, Long productId) implements Comparable<Term> {
+        @Override
+        public int compareTo(Term other) {
+            int byText = text.compareTo(other.text);
+            return byText != 0 ? byText : productId.compareTo(other.productId);
+        }
+    }
+
+    private static final class PostingList {
+        private final NavigableSet<Long> productIds = new ConcurrentSkipListSet<>();
+        /** guarded by the index, kept because ConcurrentSkipListSet.size() walks the whole set */
+        private volatile int size;
+    }
+}
@@ -0,0 +1,130 @@
+package com.xpanse.cp.product.cache;
+
+import com.xpanse.cp.product.event.ProductChangedEvent;
+import com.xpanse.cp.product.repository.ProductStore;
+import com.xpanse.cp.product.repository.TenantProductKey;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * In-memory tenant to productId posting lists, warmed at startup and kept up to date on writes.
+ * Each posting list is sorted by productId so it can serve keyset pages without touching the database.
+ * Changes to one product are applied one at a time and only when newer than the last one applied, since
+ * listeners of different transactions can run concurrently and out of commit order.
+ */
+@Component
+public class TenantProductIndex {
+    private static final Logger logger = LogManager.getLogger(TenantProductIndex.class);
+
+    private final ProductStore productStore;
+    private final Map<String, NavigableSet<Long>> postings = new ConcurrentHashMap<>();
+    private final Map<Long, Grants> tenantsByProduct = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    public TenantProductIndex(ProductStore productStore) {
+        this.productStore = productStore;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        for (TenantProductKey key : productStore.findAllTenantProductKeys()) {
+            tenantsByProduct.compute(key.productId(), (productId, grants) -> {
+                if (grants == null) {
+                    grants = new Grants(null, ConcurrentHashMap.newKeySet());
+                } else if (grants.version() != null) {
+                    // a change applied while warming is newer than the keys read before it
+                    return grants;
+                }
+                grants.tenantIds().add(key.tenantId());
+                postings.computeIfAbsent(key.tenantId(), tenant -> new ConcurrentSkipListSet<>()).add(productId);
+                return grants;
+            });
+        }
+        ready = true;
+        logger.info("product-management-api | Warmed tenant index with {} tenants", postings.size());
+    }
+
+    /**
+     * @return false until the index has been warmed, callers should query the database meanwhile
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * @return up to limit ids of products granted to the tenant with an id greater than after, ascending
+     */
+    public List<Long> getProductIds(String tenantId, long after, int limit) {
+        NavigableSet<Long> productIds = postings.get(tenantId);
+        if (productIds == null) {
+            return List.of();
+        }
+        List<Long> page = new ArrayList<>(Math.min(limit, 64));
+        for (Long productId : productIds.tailSet(after, false)) {
+            if (page.size() == limit) {
+                break;
+            }
+            page.add(productId);
+        }
+        return page;
+    }
+
+    /**
+     * Replaces the tenants of the product, atomically per product.
+     *
+     * @param version version of the product the tenants belong to, older versions than the one applied are ignored
+     */
+    public void put(Long productId, Long version, Set<String> tenantIds) {
+        tenantsByProduct.compute(productId, (id, previous) -> {
+            if (previous != null && previous.isNewerThan(version)) {
+                return previous;
+            }
+            if (previous != null) {
+                for (String tenantId : previous.tenantIds()) {
+                    if (!tenantIds.contains(tenantId)) {
+                        NavigableSet<Long> productIds = postings.get(tenantId);
+                        if (productIds != null) {
+                            productIds.remove(productId);
+                        }
+                    }
+                }
+            }
+            for (String tenantId : tenantIds) {
+                postings.computeIfAbsent(tenantId, tenant -> new ConcurrentSkipListSet<>()).add(productId);
+            }
+            Set<String> granted = ConcurrentHashMap.newKeySet();
+            granted.addAll(tenantIds);
+            return new Grants(version, granted);
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.changeType() == ProductChangedEvent.ChangeType.EXPIRED) {
+            return;
+        }
+        put(event.productId(), event.product().getVersion(), event.product().getAllowedTenants());
+    }
+
+    /**
+     * @param version product version the tenants were taken from, null when warmed from the database
+     */
+    private record Grants(Long version, Set<String> tenantIds) {
+
+        boolean isNewerThan(Long other) {
+            return version != null && other != null && version > other;
+        }
+    }
+}
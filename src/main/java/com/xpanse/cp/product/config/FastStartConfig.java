@@ -0,0 +1,21 @@
+package com.xpanse.cp.product.config;
+
+import com.xpanse.cp.product.controller.ProductManagementController;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * The fast-start profile creates beans lazily. The controller, and with it everything a product request
+ * goes through, is still created at startup, so the first request does not pay for it.
+ */
+@Configuration(proxyBeanMethods = false)
+@Profile("fast-start")
+public class FastStartConfig {
+
+    @Bean
+    public static LazyInitializationExcludeFilter requestPathLazyInitializationExcludeFilter() {
+        return LazyInitializationExcludeFilter.forBeanTypes(ProductManagementController.class);
+    }
+}
@@ -0,0 +1,69 @@
+package com.xpanse.cp.product.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Wiring of the memory profile, where the in-memory stores replace the datasource and JPA.
+ */
+@Configuration(proxyBeanMethods = false)
+@Profile("memory")
+public class InMemoryStoreConfig {
+
+    @Bean
+    public PlatformTransactionManager transactionManager() {
+        return new InMemoryTransactionManager();
+    }
+
+    /**
+     * Demarcates transactions without a resource behind them, so @Transactional methods run as they
+     * are and transactional event listeners still fire at their phase. Commit and rollback have nothing
+     * to do here: the in-memory store registers its own synchronization and reverts its writes on rollback.
+     */
+    static class InMemoryTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new InMemoryTransaction(TransactionSynchronizationManager.isActualTransactionActive());
+        }
+
+        @Override
+        protected boolean isExistingTransaction(Object transaction) {
+            return ((InMemoryTransaction) transaction).existing();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected Object doSuspend(Object transaction) {
+            return null;
+        }
+
+        @Override
+        protected void doResume(Object transaction, Object suspendedResources) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doSetRollbackOnly(DefaultTransactionStatus status) {
+        }
+    }
+
+    private record InMemoryTransaction(boolean existing) {
+    }
+}
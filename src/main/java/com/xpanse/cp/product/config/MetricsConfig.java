@@ -0,0 +1,29 @@
+package com.xpanse.cp.product.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Persistence metrics that Spring Boot does not record on its own. Request latency, repository
+ * timers and connection pool metrics come from the actuator auto-configuration.
+ */
+@Configuration(proxyBeanMethods = false)
+public class MetricsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer statementCountingCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new StatementCountingInspector());
+    }
+
+    @Bean
+    public FilterRegistrationBean<RequestStatementMetricsFilter> requestStatementMetricsFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<RequestStatementMetricsFilter> registration =
+                new FilterRegistrationBean<>(new RequestStatementMetricsFilter(meterRegistry));
+        registration.addUrlPatterns("/*");
+        return registration;
+    }
+}
@@ -0,0 +1,30 @@
+package com.xpanse.cp.product.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.xpanse.cp.product.service.TenantRateLimiter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Per-tenant rate limiting of the product API, switched off with product.rate-limit.enabled=false.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "product.rate-limit.enabled", matchIfMissing = true)
+public class RateLimitConfig {
+
+    @Bean
+    public FilterRegistrationBean<TenantRateLimitFilter> tenantRateLimitFilter(
+            TenantRateLimiter tenantRateLimiter, ObjectMapper objectMapper,
+            @Value("${product.rate-limit.tenant-header:X-Tenant-Id}") String tenantHeader) {
+        FilterRegistrationBean<TenantRateLimitFilter> registration =
+                new FilterRegistrationBean<>(new TenantRateLimitFilter(tenantRateLimiter, objectMapper, tenantHeader));
+        registration.addUrlPatterns("/*");
+        // after the request observation, so rejections still show in http.server.requests, before every other filter
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
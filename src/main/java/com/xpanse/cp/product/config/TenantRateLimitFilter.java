@@ -0,0 +1,83 @@
+package com.xpanse.cp.product.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.xpanse.cp.product.exception.ErrorResponse;
+import com.xpanse.cp.product.service.TenantRateLimiter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control in front of the controller: a request over its tenant's read or write budget is
+ * answered 429 with Retry-After here, before it reaches Spring MVC, the service or the database.
+ * The tenant is taken from the tenant header set by the gateway, callers without one are limited by
+ * client address.
+ */
+public class TenantRateLimitFilter extends OncePerRequestFilter {
+    /** logger object */
+    private static final Logger logger = LogManager.getLogger(TenantRateLimitFilter.class);
+
+    /** POST endpoint that only reads, it takes the id list in the body because it can be long */
+    private static final String BATCH_GET_PATH = "/batch-get";
+
+    private final TenantRateLimiter tenantRateLimiter;
+    private final ObjectMapper objectMapper;
+    private final String tenantHeader;
+
+    public TenantRateLimitFilter(TenantRateLimiter tenantRateLimiter, ObjectMapper objectMapper, String tenantHeader) {
+        this.tenantRateLimiter = tenantRateLimiter;
+        this.objectMapper = objectMapper;
+        this.tenantHeader = tenantHeader;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // health checks and metric scrapes are never limited
+        return request.getServletPath().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String tenantId = request.getHeader(tenantHeader);
+        if (tenantId == null || tenantId.isBlank()) {
+            tenantId = request.getRemoteAddr();
+        }
+        TenantRateLimiter.Budget budget = budget(request);
+        long waitNanos = tenantRateLimiter.tryAcquire(tenantId, budget);
+        if (waitNanos == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        // rejections are counted in product.rate-limit.rejections, a flood of them must not flood the log too
+        logger.debug("event=request.rejected status=429 tenant={} budget={} retryAfter={}", tenantId, budget,
+                retryAfterSeconds);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(LocalDateTime.now(),
+                HttpStatus.TOO_MANY_REQUESTS.value(), "Rate limit exceeded for tenant " + tenantId));
+    }
+
+    private static TenantRateLimiter.Budget budget(HttpServletRequest request) {
+        String method = request.getMethod();
+        if (HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) || HttpMethod.OPTIONS.matches(method)
+                || BATCH_GET_PATH.equals(request.getServletPath())) {
+            return TenantRateLimiter.Budget.READ;
+        }
+        return TenantRateLimiter.Budget.WRITE;
+    }
+}
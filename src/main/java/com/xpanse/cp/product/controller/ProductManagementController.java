@@ -1,41 +1,320 @@
 package com.xpanse.cp.product.controller;
 
+import com.xpanse.cp.product.cache.IdempotencyStore;
+import com.xpanse.cp.product.cache.ProductCache;
+import com.xpanse.cp.product.cache.ProductSearchIndex;
 import com.xpanse.cp.product.entity.APIResponse;
-import com.xpanse.cp.product.entity.Product;
+import com.xpanse.cp.product.exception.InvalidRequestException;
 import com.xpanse.cp.product.service.ProductManagementService;
+import com.xpanse.cp.product.model.BatchCreateResponse;
+import com.xpanse.cp.product.model.CreateOperation;
+import com.xpanse.cp.product.model.ProductChangePage;
+import com.xpanse.cp.product.model.ProductCacheStats;
+import com.xpanse.cp.product.model.ProductMultiGetResponse;
+import com.xpanse.cp.product.model.ProductSearchStats;
 import com.xpanse.cp.product.model.ProductDetails;
+import com.xpanse.cp.product.model.ProductPage;
+import com.xpanse.cp.product.model.ProductVersion;
+import com.xpanse.cp.product.model.ProductView;
+import com.xpanse.cp.product.service.ProductChangeFeed;
+import com.xpanse.cp.product.service.ProductCreateQueue;
+import com.xpanse.cp.product.service.ProductExportService;
+import com.xpanse.cp.product.service.ProductSnapshotService;
 import io.swagger.v3.oas.annotations.Operation;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping
 @RequiredArgsConstructor
 public class ProductManagementController {
 
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
     private final ProductManagementService productManagementService;
+    private final ProductExportService productExportService;
+    private final ProductCache productCache;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductCreateQueue productCreateQueue;
+    private final IdempotencyStore idempotencyStore;
+    private final ProductChangeFeed productChangeFeed;
+    private final ProductSnapshotService productSnapshotService;
 
     /**
      * return Product save response
      * @param request contains product details
+     * @param idempotencyKey optional, a retry with the same key gets the original response without a second create
      */
     @PostMapping
     @Operation(summary = "Create master product")
     @ResponseStatus(HttpStatus.CREATED)
-    public APIResponse createProduct(@RequestBody ProductDetails request) {
+    public APIResponse createProduct(@RequestBody ProductDetails request,
+                                     @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+
+        if (idempotencyKey == null) {
+            return productManagementService.createProduct(request);
+        }
+        return idempotencyStore.execute(idempotencyKey, request, () -> productManagementService.createProduct(request));
+    }
+
+    /**
+     * Queues the create for the background writer and answers right away, or 429 when the queue is full.
+     * @param request contains product details
+     * @return pending operation, with its status URL in the Location header
+     */
+    @PostMapping("async")
+    @Operation(summary = "Create master product asynchronously")
+    public ResponseEntity<CreateOperation> createProductAsync(@RequestBody ProductDetails request) {
+
+        CreateOperation operation = productCreateQueue.submit(request);
+        return ResponseEntity.accepted().location(URI.create("/operations/" + operation.operationId())).body(operation);
+    }
+
+    /**
+     * @param operationId id returned by an asynchronous create
+     * @return current state of the operation
+     */
+    @GetMapping("operations/{operationId}")
+    @ResponseStatus(HttpStatus.OK)
+    public CreateOperation getOperation(@PathVariable String operationId) {
+
+        return productCreateQueue.getOperation(operationId);
+    }
+
+    /**
+     * return per item result of a bulk create
+     * @param requests list of product details to create in one transaction
+     */
+    @PostMapping("batch")
+    @Operation(summary = "Create master products in bulk")
+    @ResponseStatus(HttpStatus.OK)
+    public BatchCreateResponse createProducts(@RequestBody List<ProductDetails> requests) {
+
+        return productManagementService.createProducts(requests);
+    }
+
+    /**
+     * @param after productId cursor, only products with a greater id are returned
+     * @param limit maximum number of products in the page
+     * @param excludeExpired leave out products flagged as expired
+     * @return page of products ordered by productId
+     */
+    @GetMapping
+    @ResponseStatus(HttpStatus.OK)
+    public ProductPage listProducts(@RequestParam(required = false) Long after,
+                                    @RequestParam(defaultValue = "100") int limit,
+                                    @RequestParam(defaultValue = "false") boolean excludeExpired) {
+
+        return productManagementService.listProducts(after, limit, excludeExpired);
+    }
+
+    /**
+     * @param ids products to return, at most one page
+     * @return products that exist, in request order, and the ids that do not
+     */
+    @GetMapping(params = "ids")
+    @ResponseStatus(HttpStatus.OK)
+    public ProductMultiGetResponse getProducts(@RequestParam List<Long> ids) {
+
+        return productManagementService.getByProductIds(ids);
+    }
+
+    /**
+     * Same as GET ?ids=, for id lists too long for a query string
+     * @param ids products to return, at most one page
+     * @return products that exist, in request order, and the ids that do not
+     */
+    @PostMapping("batch-get")
+    @ResponseStatus(HttpStatus.OK)
+    public ProductMultiGetResponse getProductsBatch(@RequestBody List<Long> ids) {
+
+        return productManagementService.getByProductIds(ids);
+    }
+
+    /**
+     * @param tenantId tenant whose products to return
+     * @param after    productId cursor, only products with a greater id are returned
+     * @param limit    maximum number of products in the page
+     * @param excludeExpired leave out products flagged as expired
+     * @return page of products the tenant is allowed to use, ordered by productId
+     */
+    @GetMapping("tenants/{tenantId}/products")
+    @ResponseStatus(HttpStatus.OK)
+    public ProductPage listTenantProducts(@PathVariable String tenantId,
+                                          @RequestParam(required = false) Long after,
+                                          @RequestParam(defaultValue = "100") int limit,
+                                          @RequestParam(defaultValue = "false") boolean excludeExpired) {
+
+        return productManagementService.listProductsByTenant(tenantId, after, limit, excludeExpired);
+    }
+
+    /**
+     * @param q     prefix of a product name, identifier or word in them, or from three characters on any substring
+     * @param limit maximum number of products returned
+     * @param excludeExpired leave out products flagged as expired
+     * @return matching products, prefix matches first
+     */
+    @GetMapping("search")
+    @ResponseStatus(HttpStatus.OK)
+    public List<ProductView> searchProducts(@RequestParam String q,
+                                            @RequestParam(defaultValue = "20") int limit,
+                                            @RequestParam(defaultValue = "false") boolean excludeExpired) {
 
-        return productManagementService.createProduct(request);
+        return productManagementService.searchProducts(q, limit, excludeExpired);
     }
 
     /**
+     * @return size and estimated memory of the search index
+     */
+    @GetMapping("search/stats")
+    @ResponseStatus(HttpStatus.OK)
+    public ProductSearchStats getSearchStats() {
+
+        return productSearchIndex.stats();
+    }
+
+    /**
+     * With waitSeconds above zero and nothing new, the request is held (without a thread) until the next
+     * change is committed or the wait runs out.
+     * @param since       sequence of the last change already processed
+     * @param limit       maximum number of changes returned
+     * @param waitSeconds how long to wait for new changes, 0 answers right away
+     * @return changes after since, ordered by sequence, and the cursor for the next read
+     */
+    @GetMapping("changes")
+    @ResponseStatus(HttpStatus.OK)
+    public CompletableFuture<ProductChangePage> getChanges(@RequestParam(defaultValue = "0") long since,
+                                                           @RequestParam(defaultValue = "100") int limit,
+                                                           @RequestParam(defaultValue = "0") long waitSeconds) {
+
+        return productChangeFeed.poll(since, limit, Duration.ofSeconds(waitSeconds));
+    }
+
+    /**
+     * @return whole catalog as newline-delimited JSON, streamed from a database cursor
+     */
+    @GetMapping(value = "export", produces = NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportProducts() {
+
+        StreamingResponseBody body = productExportService::exportProducts;
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON_VALUE)).body(body);
+    }
+
+    /**
+     * @return whole catalog as a binary snapshot, loadable at startup through product.snapshot.load-path
+     */
+    @GetMapping(value = "snapshot", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportSnapshot() {
+
+        StreamingResponseBody body = productSnapshotService::writeSnapshot;
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=products.snapshot").body(body);
+    }
+
+    /**
+     * Honours If-None-Match and If-Modified-Since: when the client copy is current the answer is a
+     * 304 decided from the version alone, without loading or serializing the product. Unconditional
+     * requests skip the version lookup and load the product once.
      * @param productId of the product to return
-     * @return product using productIdentifier
+     * @return product using productIdentifier, with its ETag and Last-Modified headers
      */
     @GetMapping("{productId}")
+    public ResponseEntity<ProductView> getProduct(@PathVariable Long productId, WebRequest webRequest) {
+
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || webRequest.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null) {
+            ProductVersion version = productManagementService.getProductVersion(productId);
+            if (version != null && webRequest.checkNotModified(version.eTag(), version.lastModifiedMillis())) {
+                return null;
+            }
+        }
+        ProductView product = productManagementService.getByProductId(productId);
+        // the representation depends on Accept, caches must not hand a CBOR body to a JSON client
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT);
+        if (product != null && product.version() != null) {
+            ProductVersion current = ProductVersion.of(product);
+            response.eTag(current.eTag()).lastModified(current.lastModifiedMillis());
+        }
+        return response.body(product);
+    }
+
+    /**
+     * Replaces the product. A request saving no change writes nothing and keeps the version.
+     * @param productId of the product to replace
+     * @param request   every product field, validated like a create
+     * @param ifMatch   optional ETag of the version the change is based on, 409 when the product has moved on
+     * @return product after the update, with its new ETag
+     */
+    @PutMapping("{productId}")
+    @Operation(summary = "Replace master product")
+    public ResponseEntity<ProductView> updateProduct(@PathVariable Long productId,
+                                                     @RequestBody ProductDetails request,
+                                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+
+        return withVersion(productManagementService.updateProduct(productId, request, expectedVersion(ifMatch)));
+    }
+
+    /**
+     * Changes only the fields present in the body, the others are left as they are. A request changing
+     * nothing writes nothing and keeps the version.
+     * @param productId of the product to change
+     * @param request   fields to change, null or absent ones are left out
+     * @param ifMatch   optional ETag of the version the change is based on, 409 when the product has moved on
+     * @return product after the update, with its new ETag
+     */
+    @PatchMapping("{productId}")
+    @Operation(summary = "Update master product fields")
+    public ResponseEntity<ProductView> patchProduct(@PathVariable Long productId,
+                                                    @RequestBody ProductDetails request,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+
+        return withVersion(productManagementService.patchProduct(productId, request, expectedVersion(ifMatch)));
+    }
+
+    /**
+     * @param productIdentifier business key of the product to return
+     * @return product using productIdentifier
+     */
+    @GetMapping("identifier/{productIdentifier}")
+    @ResponseStatus(HttpStatus.OK)
+    public ProductView getProductByIdentifier(@PathVariable String productIdentifier) {
+
+        return productManagementService.getByProductIdentifier(productIdentifier);
+    }
+
+    private static Long expectedVersion(String ifMatch) {
+        try {
+            return ProductVersion.parseETag(ifMatch);
+        } catch (NumberFormatException e) {
+            throw new InvalidRequestException("Invalid If-Match header");
+        }
+    }
+
+    private static ResponseEntity<ProductView> withVersion(ProductView product) {
+        ProductVersion version = ProductVersion.of(product);
+        return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT)
+                .eTag(version.eTag()).lastModified(version.lastModifiedMillis()).body(product);
+    }
+
+    /**
+     * @return hit, miss, load-time and eviction counters of the product cache
+     */
+    @GetMapping("cache/stats")
     @ResponseStatus(HttpStatus.OK)
-    public Product getProduct(@PathVariable Long productId) {
+    public ProductCacheStats getCacheStats() {
 
-        return productManagementService.getByProductId(productId);
+        return productCache.stats();
     }
 }
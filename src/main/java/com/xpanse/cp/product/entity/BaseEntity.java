@@ -8,6 +8,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.MappedSuperclass;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Version;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -19,6 +20,9 @@ public abstract class BaseEntity {
 	private LocalDateTime createdDate;
 	
 	private LocalDateTime updatedDate;
+
+	@Version
+	private Long version;
 	
 	@PrePersist
 	public void prePersist() {
@@ -1,13 +1,33 @@
 package com.xpanse.cp.product.entity;
 
 
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.DynamicUpdate;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
 
 @Entity
+// updates set only the changed columns, plus the version
+@DynamicUpdate
+@Table(uniqueConstraints = @UniqueConstraint(name = Product.PRODUCT_IDENTIFIER_CONSTRAINT,
+        columnNames = "productIdentifier"),
+        indexes = @Index(name = "idx_product_expiry", columnList = "expired, expirationDate"))
 @Getter
 @Setter
 @Builder
@@ -16,14 +36,25 @@ import lombok.*;
 @AllArgsConstructor
 public class Product extends BaseEntity {
 
+    public static final String PRODUCT_IDENTIFIER_CONSTRAINT = "uk_product_identifier";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_seq")
+    @SequenceGenerator(name = "product_seq", sequenceName = "product_seq", allocationSize = 50)
     private Long productId;
     private String productIdentifier;
     private String productName;
-    private String expirationDate;
+    private LocalDate expirationDate;
+    private boolean expired;
     private String environmentsSupported;
     private String ownerEmail;
-    private String allowedTenant;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "product_allowed_tenant", joinColumns = @JoinColumn(name = "product_id"),
+            indexes = @Index(name = "idx_product_allowed_tenant", columnList = "tenant_id, product_id"))
+    @Column(name = "tenant_id", nullable = false)
+    @BatchSize(size = 100)
+    @Builder.Default
+    private Set<String> allowedTenants = new HashSet<>();
 
 }
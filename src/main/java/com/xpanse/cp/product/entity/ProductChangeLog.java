@@ -0,0 +1,36 @@
+package com.xpanse.cp.product.entity;
+
+import com.xpanse.cp.product.event.ProductChangedEvent;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Append-only log of product changes, written in the transaction of the change itself.
+ */
+@Entity
+@Getter
+@Setter
+@Builder
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductChangeLog {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_change_seq")
+    @SequenceGenerator(name = "product_change_seq", sequenceName = "product_change_seq", allocationSize = 50)
+    private Long sequence;
+    private Long productId;
+    private String productIdentifier;
+    @Enumerated(EnumType.STRING)
+    private ProductChangedEvent.ChangeType changeType;
+    private LocalDateTime changedAt;
+}
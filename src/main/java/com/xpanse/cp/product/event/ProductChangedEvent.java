@@ -0,0 +1,26 @@
+package com.xpanse.cp.product.event;
+
+import com.xpanse.cp.product.entity.Product;
+
+/**
+ * Published by the service layer whenever a product is written, so that in-memory
+ * structures (caches, indexes) can stay in step with the database.
+ *
+ * @param product                   the product state after the change
+ * @param changeType                kind of write that happened
+ * @param previousProductIdentifier productIdentifier before an update, so indexes keyed by it can drop the old key
+ */
+public record ProductChangedEvent(Product product, ChangeType changeType, String previousProductIdentifier) {
+
+    public enum ChangeType {
+        CREATED, EXPIRED, UPDATED
+    }
+
+    public ProductChangedEvent(Product product, ChangeType changeType) {
+        this(product, changeType, product.getProductIdentifier());
+    }
+
+    public Long productId() {
+        return product.getProductId();
+    }
+}
@@ -0,0 +1,9 @@
+package com.xpanse.cp.product.exception;
+
+public class CreateQueueFullException extends ProductApiException {
+	private static final long serialVersionUID = 1L;
+
+	public CreateQueueFullException(String message) {
+		super(message);
+	}
+}
@@ -1,50 +1,136 @@
 package com.xpanse.cp.product.exception;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 
 @RestControllerAdvice
 public class CustomExceptionHandler {
 	private static final Logger logger = LogManager.getLogger(CustomExceptionHandler.class);
 
-	public CustomExceptionHandler() {
+	private static final ZoneId ZONE = ZoneId.systemDefault();
+	/** last error time handed out, shared by all errors raised within the same millisecond */
+	private static volatile ErrorTime lastErrorTime = new ErrorTime(Long.MIN_VALUE, null);
+
+	private final Counter notFoundErrors;
+	private final Counter invalidRequestErrors;
+	private final Counter duplicateProductErrors;
+	private final Counter queueFullErrors;
+	private final Counter operationNotFoundErrors;
+	private final Counter conflictErrors;
+
+	public CustomExceptionHandler(MeterRegistry meterRegistry) {
+		this.notFoundErrors = errorCounter(meterRegistry, ProductNotFoundException.class);
+		this.invalidRequestErrors = errorCounter(meterRegistry, InvalidRequestException.class);
+		this.duplicateProductErrors = errorCounter(meterRegistry, DuplicateProductException.class);
+		this.queueFullErrors = errorCounter(meterRegistry, CreateQueueFullException.class);
+		this.operationNotFoundErrors = errorCounter(meterRegistry, OperationNotFoundException.class);
+		this.conflictErrors = errorCounter(meterRegistry, ProductConflictException.class);
+	}
+
+	/**
+	 * Counters are registered once up front, so handling an error only increments an adder.
+	 */
+	private static Counter errorCounter(MeterRegistry meterRegistry, Class<? extends RuntimeException> type) {
+		return Counter.builder("product.errors")
+				.description("Errors returned to clients, by exception type")
+				.tag("exception", type.getSimpleName())
+				.register(meterRegistry);
+	}
+
+	/**
+	 * Error timestamp at millisecond precision. Under a flood of errors most calls reuse the cached
+	 * value instead of reading the zone rules and allocating a new LocalDateTime.
+	 */
+	static LocalDateTime errorTime() {
+		long millis = System.currentTimeMillis();
+		ErrorTime cached = lastErrorTime;
+		if (cached.millis() != millis) {
+			cached = new ErrorTime(millis, LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZONE));
+			lastErrorTime = cached;
+		}
+		return cached.value();
+	}
+
+	private record ErrorTime(long millis, LocalDateTime value) {
 	}
 
 	@ExceptionHandler(ProductNotFoundException.class)
 	public ResponseEntity<?> handleResourceNotFoundException(ProductNotFoundException ex) {
+		notFoundErrors.increment();
 
 		// Create an error response
-		ErrorResponse errorResponse = new ErrorResponse(LocalDateTime.now(), HttpStatus.NOT_FOUND.value(),
+		ErrorResponse errorResponse = new ErrorResponse(errorTime(), HttpStatus.NOT_FOUND.value(),
 				ex.getMessage());
-		// Log the error (optional)
-		logger.error("ResourceNotFoundException Exception occurred: {}", ex.getMessage());
+		// misses are expected traffic and counted in product.errors, so they only log at debug
+		logger.debug("event=request.rejected status=404 exception=ProductNotFoundException message={}", ex.getMessage());
 		return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
 	}
 
 	@ExceptionHandler(InvalidRequestException.class)
 	public ResponseEntity<?> handleInvalidRequestException(InvalidRequestException ex) {
+		invalidRequestErrors.increment();
 
 		// Create an error response
-		ErrorResponse errorResponse = new ErrorResponse(LocalDateTime.now(), HttpStatus.BAD_REQUEST.value(),
+		ErrorResponse errorResponse = new ErrorResponse(errorTime(), HttpStatus.BAD_REQUEST.value(),
 				ex.getMessage());
-		logger.error("InvalidRequestException Exception occurred: | {} ", ex.getMessage());
+		logger.error("event=request.rejected status=400 exception=InvalidRequestException message={}", ex.getMessage());
 		return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
 	}
 
 	@ExceptionHandler(DuplicateProductException.class)
 	public ResponseEntity<?> handleDuplicateProductException(DuplicateProductException ex) {
+		duplicateProductErrors.increment();
 
 		// Create an error response
-		ErrorResponse errorResponse = new ErrorResponse(LocalDateTime.now(), HttpStatus.BAD_REQUEST.value(),
+		ErrorResponse errorResponse = new ErrorResponse(errorTime(), HttpStatus.BAD_REQUEST.value(),
 				ex.getMessage());
-		logger.error("DuplicateProductException Exception occurred: | {} ", ex.getMessage());
+		logger.error("event=request.rejected status=400 exception=DuplicateProductException message={}", ex.getMessage());
 		return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
 	}
 
+	@ExceptionHandler(CreateQueueFullException.class)
+	public ResponseEntity<?> handleCreateQueueFullException(CreateQueueFullException ex) {
+		queueFullErrors.increment();
+
+		// Create an error response
+		ErrorResponse errorResponse = new ErrorResponse(errorTime(), HttpStatus.TOO_MANY_REQUESTS.value(),
+				ex.getMessage());
+		logger.error("event=request.rejected status=429 exception=CreateQueueFullException message={}", ex.getMessage());
+		return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, "1").body(errorResponse);
+	}
+
+	@ExceptionHandler(OperationNotFoundException.class)
+	public ResponseEntity<?> handleOperationNotFoundException(OperationNotFoundException ex) {
+		operationNotFoundErrors.increment();
+
+		// Create an error response
+		ErrorResponse errorResponse = new ErrorResponse(errorTime(), HttpStatus.NOT_FOUND.value(),
+				ex.getMessage());
+		logger.debug("event=request.rejected status=404 exception=OperationNotFoundException message={}", ex.getMessage());
+		return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
+	}
+
+	@ExceptionHandler(ProductConflictException.class)
+	public ResponseEntity<?> handleProductConflictException(ProductConflictException ex) {
+		conflictErrors.increment();
+
+		// Create an error response
+		ErrorResponse errorResponse = new ErrorResponse(errorTime(), HttpStatus.CONFLICT.value(),
+				ex.getMessage());
+		// concurrent edits are expected and counted in product.errors, the client re-reads and retries
+		logger.debug("event=request.rejected status=409 exception=ProductConflictException message={}", ex.getMessage());
+		return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+	}
+
 }
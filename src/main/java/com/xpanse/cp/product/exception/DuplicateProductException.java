@@ -1,6 +1,6 @@
 package com.xpanse.cp.product.exception;
 
-public class DuplicateProductException extends RuntimeException {
+public class DuplicateProductException extends ProductApiException {
     private static final long serialVersionUID = 1L;
 
     public DuplicateProductException(String message) {
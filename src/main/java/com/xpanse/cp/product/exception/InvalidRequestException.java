@@ -1,6 +1,6 @@
 package com.xpanse.cp.product.exception;
 
-public class InvalidRequestException extends RuntimeException {
+public class InvalidRequestException extends ProductApiException {
 	
 	private static final long serialVersionUID = 1L;
 
@@ -0,0 +1,9 @@
+package com.xpanse.cp.product.exception;
+
+public class OperationNotFoundException extends ProductApiException {
+	private static final long serialVersionUID = 1L;
+
+	public OperationNotFoundException(String message) {
+		super(message);
+	}
+}
@@ -0,0 +1,17 @@
+package com.xpanse.cp.product.exception;
+
+/**
+ * Base of the domain exceptions that are turned into error responses by {@link CustomExceptionHandler}.
+ * They describe expected outcomes such as a missing id, so by default they skip the stack trace and
+ * suppression bookkeeping. Start with -Dproduct.exceptions.stack-traces=true to capture stack traces
+ * while debugging.
+ */
+public abstract class ProductApiException extends RuntimeException {
+	private static final long serialVersionUID = 1L;
+
+	static final boolean STACK_TRACES = Boolean.getBoolean("product.exceptions.stack-traces");
+
+	protected ProductApiException(String message) {
+		super(message, null, false, STACK_TRACES);
+	}
+}
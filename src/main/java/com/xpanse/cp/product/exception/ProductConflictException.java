@@ -0,0 +1,10 @@
+package com.xpanse.cp.product.exception;
+
+public class ProductConflictException extends ProductApiException {
+    private static final long serialVersionUID = 1L;
+
+    public ProductConflictException(String message) {
+        super(message);
+    }
+
+}
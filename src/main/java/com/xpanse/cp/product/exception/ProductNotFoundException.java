@@ -1,6 +1,6 @@
 package com.xpanse.cp.product.exception;
 
-public class ProductNotFoundException extends RuntimeException {
+public class ProductNotFoundException extends ProductApiException {
 	private static final long serialVersionUID = 1L;
 
 	public ProductNotFoundException(String message) {
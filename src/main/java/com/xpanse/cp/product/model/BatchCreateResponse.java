@@ -0,0 +1,9 @@
+package com.xpanse.cp.product.model;
+
+import java.util.List;
+
+/**
+ * Response of a bulk create request, one result per requested item in request order.
+ */
+public record BatchCreateResponse(int created, int rejected, List<BatchCreateResult> results) {
+}
@@ -0,0 +1,21 @@
+package com.xpanse.cp.product.model;
+
+/**
+ * Outcome of one item of a bulk create request.
+ *
+ * @param index             position of the item in the request list
+ * @param productIdentifier business key of the item, as sent
+ * @param productId         generated id, null unless the item was created
+ * @param status            outcome of the item
+ * @param message           human readable detail
+ */
+public record BatchCreateResult(int index,
+                                String productIdentifier,
+                                Long productId,
+                                Status status,
+                                String message) {
+
+    public enum Status {
+        CREATED, INVALID, DUPLICATE
+    }
+}
@@ -0,0 +1,34 @@
+package com.xpanse.cp.product.model;
+
+/**
+ * State of one asynchronous product create, as returned by the operations endpoint.
+ *
+ * @param operationId       id handed out when the create was accepted
+ * @param productIdentifier business key of the product being created
+ * @param productId         generated id, null until the product is created
+ * @param status            current state of the operation
+ * @param message           human readable detail
+ */
+public record CreateOperation(String operationId,
+                              String productIdentifier,
+                              Long productId,
+                              Status status,
+                              String message) {
+
+    public enum Status {
+        PENDING, CREATED, INVALID, DUPLICATE, FAILED
+    }
+
+    public static CreateOperation pending(String operationId, String productIdentifier) {
+        return new CreateOperation(operationId, productIdentifier, null, Status.PENDING, "Product create accepted");
+    }
+
+    public CreateOperation complete(BatchCreateResult result) {
+        return new CreateOperation(operationId, productIdentifier, result.productId(),
+                Status.valueOf(result.status().name()), result.message());
+    }
+
+    public CreateOperation fail(String message) {
+        return new CreateOperation(operationId, productIdentifier, null, Status.FAILED, message);
+    }
+}
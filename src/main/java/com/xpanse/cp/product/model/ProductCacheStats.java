@@ -0,0 +1,15 @@
+package com.xpanse.cp.product.model;
+
+/**
+ * Snapshot of the product cache counters, used to size the cache.
+ */
+public record ProductCacheStats(long estimatedSize,
+                                long hitCount,
+                                long missCount,
+                                double hitRate,
+                                long loadSuccessCount,
+                                long loadFailureCount,
+                                long totalLoadTimeNanos,
+                                double averageLoadPenaltyNanos,
+                                long evictionCount) {
+}
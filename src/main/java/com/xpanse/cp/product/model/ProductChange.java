@@ -0,0 +1,21 @@
+package com.xpanse.cp.product.model;
+
+import com.xpanse.cp.product.event.ProductChangedEvent;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry of the product change feed.
+ *
+ * @param sequence          position in the feed, increasing in commit order
+ * @param productId         id of the changed product
+ * @param productIdentifier business key of the changed product
+ * @param changeType        kind of change
+ * @param changedAt         time the change was recorded
+ */
+public record ProductChange(Long sequence,
+                            Long productId,
+                            String productIdentifier,
+                            ProductChangedEvent.ChangeType changeType,
+                            LocalDateTime changedAt) {
+}
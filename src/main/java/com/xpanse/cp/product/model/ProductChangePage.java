@@ -0,0 +1,12 @@
+package com.xpanse.cp.product.model;
+
+import java.util.List;
+
+/**
+ * One read of the product change feed.
+ *
+ * @param changes   changes ordered by sequence
+ * @param nextSince value to pass as {@code since} on the next read
+ */
+public record ProductChangePage(List<ProductChange> changes, long nextSince) {
+}
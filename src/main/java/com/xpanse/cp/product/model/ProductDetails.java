@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
 
 @Data
 @NoArgsConstructor
@@ -17,6 +18,7 @@ public class ProductDetails {
     private EnvironmentsSupported environmentsSupported;
     private String ownerEmail;
     private String allowedTenant;
+    private List<String> allowedTenants;
 
     public enum EnvironmentsSupported {
         DEMO, SANDBOX, PRODUCTION
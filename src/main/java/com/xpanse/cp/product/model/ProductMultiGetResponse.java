@@ -0,0 +1,9 @@
+package com.xpanse.cp.product.model;
+
+import java.util.List;
+
+/**
+ * Response of a multi-get request: the products that were found in request order, and the ids that were not.
+ */
+public record ProductMultiGetResponse(List<ProductView> items, List<Long> notFound) {
+}
@@ -0,0 +1,12 @@
+package com.xpanse.cp.product.model;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated product listing.
+ *
+ * @param items      products ordered by productId
+ * @param nextCursor value to pass as {@code after} for the next page, null on the last page
+ */
+public record ProductPage(List<ProductView> items, Long nextCursor) {
+}
@@ -0,0 +1,13 @@
+package com.xpanse.cp.product.model;
+
+/**
+ * Size of the product search index, used to plan its memory.
+ * Byte counts are estimates for a 64-bit JVM with compressed references.
+ */
+public record ProductSearchStats(long products,
+                                 long prefixTerms,
+                                 long trigrams,
+                                 long postings,
+                                 long estimatedBytes,
+                                 long estimatedBytesPerProduct) {
+}
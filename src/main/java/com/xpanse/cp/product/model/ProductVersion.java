@@ -0,0 +1,54 @@
+package com.xpanse.cp.product.model;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Version and last modification time of a product, enough to answer conditional requests.
+ *
+ * @param version      optimistic lock version of the product row
+ * @param lastModified updatedDate, or createdDate for products never updated
+ */
+public record ProductVersion(Long version, LocalDateTime lastModified) {
+
+    public static ProductVersion of(ProductView product) {
+        return new ProductVersion(product.version(),
+                product.updatedDate() != null ? product.updatedDate() : product.createdDate());
+    }
+
+    /**
+     * Weak, because the same version is served as JSON, CBOR or Smile: the bodies are equivalent, not
+     * byte-identical. If-None-Match compares weakly, so revalidation and 304s work the same.
+     *
+     * @return weak entity tag derived from the version
+     */
+    public String eTag() {
+        return "W/\"" + version + "\"";
+    }
+
+    /**
+     * @param eTag entity tag as sent in If-Match, strong or weak
+     * @return the version it was derived from, null for * or no tag
+     * @throws NumberFormatException when the tag was not issued by this service
+     */
+    public static Long parseETag(String eTag) {
+        if (eTag == null || eTag.isBlank() || eTag.strip().equals("*")) {
+            return null;
+        }
+        String tag = eTag.strip();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        if (tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new NumberFormatException("Not a product entity tag: " + eTag);
+        }
+        return Long.valueOf(tag.substring(1, tag.length() - 1));
+    }
+
+    /**
+     * @return last modification time in epoch millis, -1 when unknown
+     */
+    public long lastModifiedMillis() {
+        return lastModified == null ? -1 : lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,36 @@
+package com.xpanse.cp.product.model;
+
+import com.xpanse.cp.product.entity.Product;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Immutable read model of a product, returned by the read endpoints and held in the product cache.
+ * Built from plain query rows rather than managed entities, so reads never go through the
+ * persistence context, and it can be shared between threads as is.
+ */
+public record ProductView(Long productId,
+                          String productIdentifier,
+                          String productName,
+                          LocalDate expirationDate,
+                          boolean expired,
+                          String environmentsSupported,
+                          String ownerEmail,
+                          Set<String> allowedTenants,
+                          LocalDateTime createdDate,
+                          LocalDateTime updatedDate,
+                          Long version) {
+
+    public ProductView {
+        allowedTenants = allowedTenants == null ? Set.of() : Set.copyOf(allowedTenants);
+    }
+
+    public static ProductView of(Product product) {
+        return new ProductView(product.getProductId(), product.getProductIdentifier(), product.getProductName(),
+                product.getExpirationDate(), product.isExpired(), product.getEnvironmentsSupported(),
+                product.getOwnerEmail(), product.getAllowedTenants(), product.getCreatedDate(),
+                product.getUpdatedDate(), product.getVersion());
+    }
+}
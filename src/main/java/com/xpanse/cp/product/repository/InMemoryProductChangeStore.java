@@ -0,0 +1,42 @@
+package com.xpanse.cp.product.repository;
+
+import com.xpanse.cp.product.entity.ProductChangeLog;
+import com.xpanse.cp.product.model.ProductChange;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Heap-only change log for the memory profile, sorted by sequence so a feed page is a range scan.
+ */
+@Repository
+@Profile("memory")
+public class InMemoryProductChangeStore implements ProductChangeStore {
+
+    private final ConcurrentNavigableMap<Long, ProductChange> changes = new ConcurrentSkipListMap<>();
+    private final AtomicLong lastSequence = new AtomicLong();
+
+    @Override
+    public <S extends ProductChangeLog> S save(S change) {
+        Long sequence = lastSequence.incrementAndGet();
+        change.setSequence(sequence);
+        changes.put(sequence, new ProductChange(sequence, change.getProductId(), change.getProductIdentifier(),
+                change.getChangeType(), change.getChangedAt()));
+        return change;
+    }
+
+    @Override
+    public List<ProductChange> findChanges(Long since, Long upTo, Limit limit) {
+        if (since >= upTo) {
+            return List.of();
+        }
+        return changes.subMap(since, false, upTo, true).values().stream()
+                .limit(limit.isLimited() ? limit.max() : Long.MAX_VALUE)
+                .toList();
+    }
+}
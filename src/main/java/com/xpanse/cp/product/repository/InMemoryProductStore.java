@@ -0,0 +1,367 @@
+package com.xpanse.cp.product.repository;
+
+import com.xpanse.cp.product.entity.Product;
+import com.xpanse.cp.product.model.ProductVersion;
+import com.xpanse.cp.product.model.ProductView;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Heap-only {@link ProductStore} for the memory profile, for benchmarks and local runs without a
+ * database. Products are held as immutable views in a map sorted by productId, so keyset pages are
+ * range scans, next to a unique index of productIdentifier to productId.
+ * Inserts claim the identifier with putIfAbsent, updates compare the version and swap the view
+ * atomically, so concurrent writers see the same duplicate and stale-version errors as with the
+ * JPA store. Writes made inside a transaction are recorded with an undo action and reverted when
+ * the transaction rolls back, so a batch failing half way leaves nothing behind. They are visible
+ * to other readers before the commit, unlike with the database. The catalog is gone on restart
+ * unless a snapshot is loaded.
+ */
+@Repository
+@Profile("memory")
+public class InMemoryProductStore implements ProductStore, ProductBulkLoader {
+
+    private final ConcurrentNavigableMap<Long, ProductView> products = new ConcurrentSkipListMap<>();
+    private final Map<String, Long> productIds = new ConcurrentHashMap<>();
+    private final AtomicLong lastProductId = new AtomicLong();
+
+    @Override
+    public <S extends Product> S save(S product) {
+        recordUndo(write(product));
+        return product;
+    }
+
+    @Override
+    public <S extends Product> S saveAndFlush(S product) {
+        return save(product);
+    }
+
+    /**
+     * All or nothing even without a transaction: a product failing to save reverts the ones saved before it.
+     */
+    @Override
+    public <S extends Product> List<S> saveAll(Iterable<S> products) {
+        List<S> saved = new ArrayList<>();
+        List<Runnable> undoActions = new ArrayList<>();
+        try {
+            for (S product : products) {
+                Runnable undo = write(product);
+                undoActions.add(undo);
+                saved.add(product);
+            }
+        } catch (RuntimeException e) {
+            undo(undoActions);
+            throw e;
+        }
+        undoActions.forEach(this::recordUndo);
+        return saved;
+    }
+
+    @Override
+    public <S extends Product> List<S> saveAllAndFlush(Iterable<S> products) {
+        return saveAll(products);
+    }
+
+    /**
+     * @return detached copy, written back with save and its version check
+     */
+    @Override
+    public Optional<Product> findById(Long productId) {
+        ProductView view = productId == null ? null : products.get(productId);
+        return Optional.ofNullable(view).map(InMemoryProductStore::toProduct);
+    }
+
+    @Override
+    public List<Product> findAllById(Iterable<Long> productIds) {
+        List<Product> found = new ArrayList<>();
+        for (Long productId : productIds) {
+            ProductView view = productId == null ? null : products.get(productId);
+            if (view != null) {
+                found.add(toProduct(view));
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Walks the whole map, only used to check for an empty catalog at startup.
+     */
+    @Override
+    public long count() {
+        return products.size();
+    }
+
+    @Override
+    public List<ProductView> findViewsByProductIdIn(Collection<Long> productIds) {
+        return productIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .sorted()
+                .map(products::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Override
+    public Optional<ProductVersion> findVersionByProductId(Long productId) {
+        return Optional.ofNullable(products.get(productId)).map(ProductVersion::of);
+    }
+
+    @Override
+    public Optional<Long> findProductIdByProductIdentifier(String productIdentifier) {
+        return productIdentifier == null ? Optional.empty() : Optional.ofNullable(productIds.get(productIdentifier));
+    }
+
+    @Override
+    public Set<String> findExistingProductIdentifiers(Collection<String> productIdentifiers) {
+        return productIdentifiers.stream()
+                .filter(identifier -> identifier != null && productIds.containsKey(identifier))
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    public List<Long> findProductIds(Long after, boolean includeExpired, Limit limit) {
+        return findProductIds(after, includeExpired, limit, product -> true);
+    }
+
+    /**
+     * Scans from the cursor, the service only falls back to it while the tenant index warms up.
+     */
+    @Override
+    public List<Long> findProductIdsByTenant(String tenantId, Long after, boolean includeExpired, Limit limit) {
+        return findProductIds(after, includeExpired, limit, product -> product.allowedTenants().contains(tenantId));
+    }
+
+    @Override
+    public List<ProductKey> findAllProductKeys() {
+        return products.values().stream()
+                .map(product -> new ProductKey(product.productId(), product.productIdentifier()))
+                .toList();
+    }
+
+    @Override
+    public List<ProductSearchKey> findAllSearchKeys() {
+        return products.values().stream()
+                .map(product -> new ProductSearchKey(product.productId(), product.productIdentifier(),
+                        product.productName(), product.expired()))
+                .toList();
+    }
+
+    @Override
+    public List<ProductExpiry> findAllUpcomingExpiries() {
+        return products.values().stream()
+                .filter(product -> !product.expired() && product.expirationDate() != null)
+                .map(product -> new ProductExpiry(product.productId(), product.expirationDate()))
+                .toList();
+    }
+
+    @Override
+    public List<TenantProductKey> findAllTenantProductKeys() {
+        return products.values().stream()
+                .flatMap(product -> product.allowedTenants().stream()
+                        .map(tenantId -> new TenantProductKey(tenantId, product.productId())))
+                .toList();
+    }
+
+    /**
+     * Weakly consistent rather than a snapshot: products written while the stream is consumed may
+     * or may not be included.
+     */
+    @Override
+    public Stream<ProductView> streamAllViews() {
+        return products.values().stream();
+    }
+
+    @Override
+    public void loadAll(List<ProductView> products) {
+        for (ProductView product : products) {
+            this.products.put(product.productId(), product);
+            if (product.productIdentifier() != null) {
+                productIds.put(product.productIdentifier(), product.productId());
+            }
+        }
+    }
+
+    @Override
+    public void moveIdsPast(long productId) {
+        lastProductId.accumulateAndGet(productId, Math::max);
+    }
+
+    /**
+     * @return action reverting the write
+     */
+    private Runnable write(Product product) {
+        return product.getProductId() == null ? insert(product) : update(product);
+    }
+
+    private Runnable insert(Product product) {
+        Long productId = lastProductId.incrementAndGet();
+        String identifier = product.getProductIdentifier();
+        claimIdentifier(identifier, productId);
+        product.setProductId(productId);
+        product.setCreatedDate(LocalDateTime.now());
+        product.setVersion(0L);
+        ProductView inserted = ProductView.of(product);
+        products.put(productId, inserted);
+        return () -> {
+            products.remove(productId, inserted);
+            if (identifier != null) {
+                productIds.remove(identifier, productId);
+            }
+        };
+    }
+
+    /**
+     * Like dirty checking, a product saved unchanged keeps its version.
+     */
+    private Runnable update(Product product) {
+        Long productId = product.getProductId();
+        ProductView current = products.get(productId);
+        if (current == null || !Objects.equals(current.version(), product.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Product.class, productId);
+        }
+        if (current.equals(ProductView.of(product))) {
+            return () -> { };
+        }
+        String identifier = product.getProductIdentifier();
+        boolean identifierChanged = !Objects.equals(current.productIdentifier(), identifier);
+        if (identifierChanged) {
+            claimIdentifier(identifier, productId);
+        }
+        LocalDateTime updatedDate = LocalDateTime.now();
+        long version = current.version() + 1;
+        ProductView updated = new ProductView(productId, identifier, product.getProductName(),
+                product.getExpirationDate(), product.isExpired(), product.getEnvironmentsSupported(),
+                product.getOwnerEmail(), product.getAllowedTenants(), current.createdDate(), updatedDate, version);
+        if (!products.replace(productId, current, updated)) {
+            if (identifierChanged && identifier != null) {
+                productIds.remove(identifier, productId);
+            }
+            throw new ObjectOptimisticLockingFailureException(Product.class, productId);
+        }
+        if (identifierChanged && current.productIdentifier() != null) {
+            productIds.remove(current.productIdentifier(), productId);
+        }
+        product.setUpdatedDate(updatedDate);
+        product.setVersion(version);
+        return () -> {
+            if (products.replace(productId, updated, current) && identifierChanged) {
+                if (identifier != null) {
+                    productIds.remove(identifier, productId);
+                }
+                if (current.productIdentifier() != null) {
+                    productIds.putIfAbsent(current.productIdentifier(), productId);
+                }
+            }
+        };
+    }
+
+    /**
+     * Keeps the undo action until the surrounding transaction completes, nothing to keep outside of one.
+     */
+    @SuppressWarnings("unchecked")
+    private void recordUndo(Runnable undo) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        List<Runnable> undoActions = (List<Runnable>) TransactionSynchronizationManager.getResource(this);
+        if (undoActions == null) {
+            undoActions = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, undoActions);
+            TransactionSynchronizationManager.registerSynchronization(new UndoOnRollback(undoActions));
+        }
+        undoActions.add(undo);
+    }
+
+    /** reverts in the opposite order, each write finds the state it left behind */
+    private static void undo(List<Runnable> undoActions) {
+        for (int i = undoActions.size() - 1; i >= 0; i--) {
+            undoActions.get(i).run();
+        }
+    }
+
+    private void claimIdentifier(String productIdentifier, Long productId) {
+        if (productIdentifier != null && productIds.putIfAbsent(productIdentifier, productId) != null) {
+            throw new DuplicateKeyException("Unique constraint " + Product.PRODUCT_IDENTIFIER_CONSTRAINT
+                    + " violated by productIdentifier " + productIdentifier);
+        }
+    }
+
+    private List<Long> findProductIds(Long after, boolean includeExpired, Limit limit, Predicate<ProductView> filter) {
+        return products.tailMap(after, false).values().stream()
+                .filter(product -> includeExpired || !product.expired())
+                .filter(filter)
+                .limit(limit.isLimited() ? limit.max() : Long.MAX_VALUE)
+                .map(ProductView::productId)
+                .toList();
+    }
+
+    /**
+     * Undo log of one transaction, bound to it like a connection and replayed when it rolls back.
+     */
+    private final class UndoOnRollback implements TransactionSynchronization {
+
+        private final List<Runnable> undoActions;
+
+        private UndoOnRollback(List<Runnable> undoActions) {
+            this.undoActions = undoActions;
+        }
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(InMemoryProductStore.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(InMemoryProductStore.this, undoActions);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(InMemoryProductStore.this);
+            if (status == STATUS_ROLLED_BACK) {
+                undo(undoActions);
+            }
+        }
+    }
+
+    private static Product toProduct(ProductView view) {
+        Product product = Product.builder()
+                .productId(view.productId())
+                .productIdentifier(view.productIdentifier())
+                .productName(view.productName())
+                .expirationDate(view.expirationDate())
+                .expired(view.expired())
+                .environmentsSupported(view.environmentsSupported())
+                .ownerEmail(view.ownerEmail())
+                .allowedTenants(new HashSet<>(view.allowedTenants()))
+                .build();
+        product.setCreatedDate(view.createdDate());
+        product.setUpdatedDate(view.updatedDate());
+        product.setVersion(view.version());
+        return product;
+    }
+}
@@ -0,0 +1,62 @@
+package com.xpanse.cp.product.repository;
+
+import com.xpanse.cp.product.model.ProductView;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bulk loader for the JPA store: typed JDBC batch inserts straight into the product tables, bypassing
+ * Hibernate, which would assign new ids.
+ */
+@Repository
+@Profile("!memory")
+public class JdbcProductBulkLoader implements ProductBulkLoader {
+
+    /** the pooled optimizer hands out the block below the value it reads, so keep one allocation of headroom */
+    private static final long SEQUENCE_HEADROOM = 51;
+
+    private static final String INSERT_PRODUCT = "insert into product (product_id, product_identifier, product_name,"
+            + " expiration_date, expired, environments_supported, owner_email, created_date, updated_date, version)"
+            + " values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_TENANT = "insert into product_allowed_tenant (product_id, tenant_id) values (?, ?)";
+    /** explicit types, so null values do not cost a parameter metadata lookup per row */
+    private static final int[] PRODUCT_TYPES = {Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.DATE, Types.BOOLEAN,
+            Types.VARCHAR, Types.VARCHAR, Types.TIMESTAMP, Types.TIMESTAMP, Types.BIGINT};
+    private static final int[] TENANT_TYPES = {Types.BIGINT, Types.VARCHAR};
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcProductBulkLoader(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public void loadAll(List<ProductView> products) {
+        List<Object[]> rows = new ArrayList<>(products.size());
+        List<Object[]> tenants = new ArrayList<>();
+        for (ProductView product : products) {
+            rows.add(new Object[]{product.productId(), product.productIdentifier(), product.productName(),
+                    product.expirationDate(), product.expired(), product.environmentsSupported(),
+                    product.ownerEmail(), product.createdDate(), product.updatedDate(), product.version()});
+            for (String tenantId : product.allowedTenants()) {
+                tenants.add(new Object[]{product.productId(), tenantId});
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_PRODUCT, rows, PRODUCT_TYPES);
+        if (!tenants.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_TENANT, tenants, TENANT_TYPES);
+        }
+    }
+
+    @Override
+    public void moveIdsPast(long productId) {
+        jdbcTemplate.execute("alter sequence product_seq restart with " + (productId + SEQUENCE_HEADROOM));
+    }
+}
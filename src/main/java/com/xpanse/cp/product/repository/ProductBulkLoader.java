@@ -0,0 +1,22 @@
+package com.xpanse.cp.product.repository;
+
+import com.xpanse.cp.product.model.ProductView;
+
+import java.util.List;
+
+/**
+ * Inserts products as they are, keeping ids, versions and timestamps. Used to load catalog snapshots
+ * into an empty store.
+ */
+public interface ProductBulkLoader {
+
+    /**
+     * Inserts the products in one transaction.
+     */
+    void loadAll(List<ProductView> products);
+
+    /**
+     * Makes sure ids handed out from now on are greater than the given one.
+     */
+    void moveIdsPast(long productId);
+}
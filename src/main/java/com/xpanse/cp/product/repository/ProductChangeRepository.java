@@ -0,0 +1,30 @@
+package com.xpanse.cp.product.repository;
+
+import com.xpanse.cp.product.entity.ProductChangeLog;
+import com.xpanse.cp.product.model.ProductChange;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * JPA implementation of {@link ProductChangeStore}, active unless the memory profile is.
+ */
+@Repository
+public interface ProductChangeRepository extends JpaRepository<ProductChangeLog, Long>, ProductChangeStore {
+
+    /** redeclared so the generic signatures of both parents resolve to one method */
+    @Override
+    <S extends ProductChangeLog> S save(S change);
+
+    @Override
+    @Transactional(readOnly = true)
+    @Query("select new com.xpanse.cp.product.model.ProductChange(c.sequence, c.productId, c.productIdentifier,"
+            + " c.changeType, c.changedAt) from ProductChangeLog c"
+            + " where c.sequence > :since and c.sequence <= :upTo order by c.sequence")
+    List<ProductChange> findChanges(@Param("since") Long since, @Param("upTo") Long upTo, Limit limit);
+}
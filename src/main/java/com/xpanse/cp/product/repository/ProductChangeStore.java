@@ -0,0 +1,24 @@
+package com.xpanse.cp.product.repository;
+
+import com.xpanse.cp.product.entity.ProductChangeLog;
+import com.xpanse.cp.product.model.ProductChange;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+
+/**
+ * Storage of the product change log, implemented by the JPA repository and, under the memory
+ * profile, by {@link InMemoryProductChangeStore}.
+ */
+public interface ProductChangeStore {
+
+    /**
+     * @return the change with its sequence number assigned
+     */
+    <S extends ProductChangeLog> S save(S change);
+
+    /**
+     * @return changes with a sequence greater than since and at most upTo, ascending
+     */
+    List<ProductChange> findChanges(Long since, Long upTo, Limit limit);
+}
@@ -0,0 +1,9 @@
+package com.xpanse.cp.product.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Projection of a product id and the last day it is valid.
+ */
+public record ProductExpiry(Long productId, LocalDate expirationDate) {
+}
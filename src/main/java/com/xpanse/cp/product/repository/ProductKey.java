@@ -0,0 +1,7 @@
+package com.xpanse.cp.product.repository;
+
+/**
+ * Projection of the surrogate and business key of a product.
+ */
+public record ProductKey(Long productId, String productIdentifier) {
+}
@@ -1,14 +1,126 @@
 package com.xpanse.cp.product.repository;
 
 import com.xpanse.cp.product.entity.Product;
+import com.xpanse.cp.product.model.ProductVersion;
+import com.xpanse.cp.product.model.ProductView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
+/**
+ * JPA implementation of {@link ProductStore}, active unless the memory profile is.
+ */
 @Repository
-public interface ProductManagementRepository extends JpaRepository<Product, Long> {
-    Optional<Product> findByProductId(Long productId);
+public interface ProductManagementRepository extends JpaRepository<Product, Long>, ProductStore {
+    int EXPORT_FETCH_SIZE = 500;
 
-    boolean existsByProductIdentifier(String productIdentifier);
+    /*
+     * Redeclared so the generic signatures of both parents resolve to one method, still implemented
+     * by the Spring Data base repository.
+     */
+    @Override
+    <S extends Product> S save(S product);
+
+    @Override
+    <S extends Product> S saveAndFlush(S product);
+
+    @Override
+    <S extends Product> List<S> saveAll(Iterable<S> products);
+
+    @Override
+    <S extends Product> List<S> saveAllAndFlush(Iterable<S> products);
+
+    @Override
+    Optional<Product> findById(Long productId);
+
+    /**
+     * Read path: plain rows through a constructor expression, so no entity is materialized and no
+     * dirty-checking snapshot is kept, in a read-only transaction that never flushes.
+     */
+    @Transactional(readOnly = true)
+    @Query("select new com.xpanse.cp.product.repository.ProductRow(p.productId, p.productIdentifier, p.productName,"
+            + " p.expirationDate, p.expired, p.environmentsSupported, p.ownerEmail, p.createdDate, p.updatedDate,"
+            + " p.version, t) from Product p left join p.allowedTenants t"
+            + " where p.productId in :productIds order by p.productId")
+    List<ProductRow> findRowsByProductIdIn(@Param("productIds") Collection<Long> productIds);
+
+    @Override
+    default List<ProductView> findViewsByProductIdIn(Collection<Long> productIds) {
+        return ProductRow.toViews(findRowsByProductIdIn(productIds));
+    }
+
+    @Override
+    @Query("select new com.xpanse.cp.product.model.ProductVersion(p.version, coalesce(p.updatedDate, p.createdDate))"
+            + " from Product p where p.productId = :productId")
+    Optional<ProductVersion> findVersionByProductId(@Param("productId") Long productId);
+
+    @Override
+    @Query("select p.productId from Product p where p.productIdentifier = :productIdentifier")
+    Optional<Long> findProductIdByProductIdentifier(@Param("productIdentifier") String productIdentifier);
+
+    @Override
+    @Query("select new com.xpanse.cp.product.repository.ProductKey(p.productId, p.productIdentifier) from Product p")
+    List<ProductKey> findAllProductKeys();
+
+    @Override
+    @Query("select new com.xpanse.cp.product.repository.ProductSearchKey(p.productId, p.productIdentifier,"
+            + " p.productName, p.expired) from Product p")
+    List<ProductSearchKey> findAllSearchKeys();
+
+    @Override
+    @Query("select p.productIdentifier from Product p where p.productIdentifier in :productIdentifiers")
+    Set<String> findExistingProductIdentifiers(@Param("productIdentifiers") Collection<String> productIdentifiers);
+
+    @Override
+    @Query("select p.productId from Product p where p.productId > :after"
+            + " and (:includeExpired = true or p.expired = false) order by p.productId")
+    List<Long> findProductIds(@Param("after") Long after, @Param("includeExpired") boolean includeExpired,
+                              Limit limit);
+
+    @Override
+    @Query("select p.productId from Product p join p.allowedTenants t"
+            + " where t = :tenantId and p.productId > :after"
+            + " and (:includeExpired = true or p.expired = false) order by p.productId")
+    List<Long> findProductIdsByTenant(@Param("tenantId") String tenantId, @Param("after") Long after,
+                                      @Param("includeExpired") boolean includeExpired, Limit limit);
+
+    @Override
+    @Query("select new com.xpanse.cp.product.repository.ProductExpiry(p.productId, p.expirationDate) from Product p"
+            + " where p.expired = false and p.expirationDate is not null")
+    List<ProductExpiry> findAllUpcomingExpiries();
+
+    @Override
+    @Query("select new com.xpanse.cp.product.repository.TenantProductKey(t, p.productId)"
+            + " from Product p join p.allowedTenants t")
+    List<TenantProductKey> findAllTenantProductKeys();
+
+    /**
+     * Forward-only cursor over every product row joined with its tenants, ordered by productId, must be
+     * consumed inside a transaction. A single statement, so the rows are one consistent MVCC snapshot.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.xpanse.cp.product.repository.ProductRow(p.productId, p.productIdentifier, p.productName,"
+            + " p.expirationDate, p.expired, p.environmentsSupported, p.ownerEmail, p.createdDate, p.updatedDate,"
+            + " p.version, t) from Product p left join p.allowedTenants t order by p.productId")
+    Stream<ProductRow> streamAllRows();
+
+    @Override
+    default Stream<ProductView> streamAllViews() {
+        return ProductRow.toViews(streamAllRows());
+    }
 }
@@ -0,0 +1,99 @@
+package com.xpanse.cp.product.repository;
+
+import com.xpanse.cp.product.model.ProductView;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * One row of the product read query: the product columns joined with one of its allowed tenants.
+ * Products without tenants come back as a single row with a null tenantId.
+ */
+public record ProductRow(Long productId,
+                         String productIdentifier,
+                         String productName,
+                         LocalDate expirationDate,
+                         boolean expired,
+                         String environmentsSupported,
+                         String ownerEmail,
+                         LocalDateTime createdDate,
+                         LocalDateTime updatedDate,
+                         Long version,
+                         String tenantId) {
+
+    /**
+     * @param rows rows ordered by productId
+     * @return one view per product, in row order
+     */
+    static List<ProductView> toViews(List<ProductRow> rows) {
+        List<ProductView> views = new ArrayList<>();
+        int from = 0;
+        while (from < rows.size()) {
+            ProductRow first = rows.get(from);
+            Set<String> tenants = new HashSet<>();
+            int to = from;
+            for (; to < rows.size() && rows.get(to).productId().equals(first.productId()); to++) {
+                if (rows.get(to).tenantId() != null) {
+                    tenants.add(rows.get(to).tenantId());
+                }
+            }
+            views.add(first.toView(tenants));
+            from = to;
+        }
+        return views;
+    }
+
+    /**
+     * Groups the rows lazily, closing the view stream closes the row stream.
+     *
+     * @param rows rows ordered by productId
+     * @return one view per product, in row order
+     */
+    static Stream<ProductView> toViews(Stream<ProductRow> rows) {
+        Iterator<ProductRow> iterator = rows.iterator();
+        Iterator<ProductView> views = new Iterator<>() {
+            private ProductRow next;
+
+            @Override
+            public boolean hasNext() {
+                if (next == null && iterator.hasNext()) {
+                    next = iterator.next();
+                }
+                return next != null;
+            }
+
+            @Override
+            public ProductView next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                ProductRow first = next;
+                Set<String> tenants = new HashSet<>();
+                while (next != null && next.productId().equals(first.productId())) {
+                    if (next.tenantId() != null) {
+                        tenants.add(next.tenantId());
+                    }
+                    next = iterator.hasNext() ? iterator.next() : null;
+                }
+                return first.toView(tenants);
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(views,
+                Spliterator.ORDERED | Spliterator.NONNULL), false).onClose(rows::close);
+    }
+
+    private ProductView toView(Set<String> tenants) {
+        return new ProductView(productId, productIdentifier, productName, expirationDate, expired,
+                environmentsSupported, ownerEmail, tenants, createdDate, updatedDate, version);
+    }
+}
@@ -0,0 +1,7 @@
+package com.xpanse.cp.product.repository;
+
+/**
+ * Projection of the searchable text of a product.
+ */
+public record ProductSearchKey(Long productId, String productIdentifier, String productName, boolean expired) {
+}
@@ -0,0 +1,75 @@
+package com.xpanse.cp.product.repository;
+
+import com.xpanse.cp.product.entity.Product;
+import com.xpanse.cp.product.model.ProductVersion;
+import com.xpanse.cp.product.model.ProductView;
+import org.springframework.data.domain.Limit;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Product storage as seen by the service layer, the indexes and the export paths.
+ * Implemented by the JPA repository and, under the memory profile, by {@link InMemoryProductStore}.
+ * Writes raise DataIntegrityViolationException for a duplicate productIdentifier and
+ * OptimisticLockingFailureException for a stale version, whichever store is behind.
+ */
+public interface ProductStore {
+
+    <S extends Product> S save(S product);
+
+    <S extends Product> S saveAndFlush(S product);
+
+    <S extends Product> List<S> saveAll(Iterable<S> products);
+
+    <S extends Product> List<S> saveAllAndFlush(Iterable<S> products);
+
+    Optional<Product> findById(Long productId);
+
+    List<Product> findAllById(Iterable<Long> productIds);
+
+    long count();
+
+    /**
+     * @return views of the products that exist, ordered by productId
+     */
+    List<ProductView> findViewsByProductIdIn(Collection<Long> productIds);
+
+    default Optional<ProductView> findViewByProductId(Long productId) {
+        List<ProductView> views = findViewsByProductIdIn(List.of(productId));
+        return views.isEmpty() ? Optional.empty() : Optional.of(views.get(0));
+    }
+
+    Optional<ProductVersion> findVersionByProductId(Long productId);
+
+    Optional<Long> findProductIdByProductIdentifier(String productIdentifier);
+
+    Set<String> findExistingProductIdentifiers(Collection<String> productIdentifiers);
+
+    /**
+     * @return ids greater than after, ascending, at most limit of them
+     */
+    List<Long> findProductIds(Long after, boolean includeExpired, Limit limit);
+
+    /**
+     * @return ids of products granted to the tenant greater than after, ascending, at most limit of them
+     */
+    List<Long> findProductIdsByTenant(String tenantId, Long after, boolean includeExpired, Limit limit);
+
+    List<ProductKey> findAllProductKeys();
+
+    List<ProductSearchKey> findAllSearchKeys();
+
+    List<ProductExpiry> findAllUpcomingExpiries();
+
+    List<TenantProductKey> findAllTenantProductKeys();
+
+    /**
+     * Every product ordered by productId, as one consistent read. Must be closed, and for the JPA store
+     * consumed inside a transaction.
+     */
+    Stream<ProductView> streamAllViews();
+}
@@ -0,0 +1,7 @@
+package com.xpanse.cp.product.repository;
+
+/**
+ * Projection of one tenant to product grant.
+ */
+public record TenantProductKey(String tenantId, Long productId) {
+}
@@ -0,0 +1,135 @@
+package com.xpanse.cp.product.service;
+
+import com.xpanse.cp.product.entity.ProductChangeLog;
+import com.xpanse.cp.product.event.ProductChangedEvent;
+import com.xpanse.cp.product.exception.InvalidRequestException;
+import com.xpanse.cp.product.model.ProductChange;
+import com.xpanse.cp.product.model.ProductChangePage;
+import com.xpanse.cp.product.repository.ProductChangeStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outbox-style change feed. Every product change is appended to the change log inside the
+ * transaction that makes it, and readers page through the log by sequence number.
+ * Sequence numbers are handed out before commit, so a reader must not skip past one whose transaction
+ * is still open: the feed only serves sequences below the oldest one in flight. This holds within one
+ * instance, which is how this service is deployed. Long-poll readers wait on a signal that every commit
+ * fires, without holding a request thread.
+ */
+@Component
+public class ProductChangeFeed {
+
+    private final ProductChangeStore productChangeStore;
+    private final Executor executor;
+    private final int maxPageSize;
+    private final Duration maxWait;
+    private final NavigableSet<Long> inFlight = new ConcurrentSkipListSet<>();
+    private final Object allocationLock = new Object();
+
+    /** completed and replaced on every commit that appended changes */
+    private volatile CompletableFuture<Void> nextCommit = new CompletableFuture<>();
+
+    @Autowired
+    public ProductChangeFeed(ProductChangeStore productChangeStore,
+                             @Qualifier("applicationTaskExecutor") Executor executor,
+                             @Value("${product.page.max-size:1000}") int maxPageSize,
+                             @Value("${product.changes.max-wait:PT30S}") Duration maxWait) {
+        this.productChangeStore = productChangeStore;
+        this.executor = executor;
+        this.maxPageSize = maxPageSize;
+        this.maxWait = maxWait;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        ProductChangeLog change = ProductChangeLog.builder()
+                .productId(event.productId())
+                .productIdentifier(event.product().getProductIdentifier())
+                .changeType(event.changeType())
+                .changedAt(LocalDateTime.now())
+                .build();
+        Long sequence;
+        synchronized (allocationLock) {
+            sequence = productChangeStore.save(change).getSequence();
+            inFlight.add(sequence);
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            // no surrounding transaction, save has already committed
+            completed(sequence, true);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                completed(sequence, status == STATUS_COMMITTED);
+            }
+        });
+    }
+
+    /**
+     * @param since only changes with a greater sequence are returned
+     * @param limit maximum number of changes
+     */
+    public ProductChangePage read(long since, int limit) {
+        if (limit < 1 || limit > maxPageSize) {
+            throw new InvalidRequestException("Invalid request");
+        }
+        List<ProductChange> changes = productChangeStore.findChanges(since, visibleUpTo(), Limit.of(limit));
+        return new ProductChangePage(changes,
+                changes.isEmpty() ? since : changes.get(changes.size() - 1).sequence());
+    }
+
+    /**
+     * Like {@link #read}, but when nothing is there yet completes on the next commit or after wait,
+     * whichever comes first.
+     */
+    public CompletableFuture<ProductChangePage> poll(long since, int limit, Duration wait) {
+        if (wait.isNegative() || wait.compareTo(maxWait) > 0) {
+            throw new InvalidRequestException("Invalid request");
+        }
+        // taken before reading, so a commit landing in between still wakes this reader
+        CompletableFuture<Void> signal = nextCommit;
+        ProductChangePage page = read(since, limit);
+        if (!page.changes().isEmpty() || wait.isZero()) {
+            return CompletableFuture.completedFuture(page);
+        }
+        return signal.copy()
+                .completeOnTimeout(null, wait.toMillis(), TimeUnit.MILLISECONDS)
+                .thenApplyAsync(ignored -> read(since, limit), executor);
+    }
+
+    private long visibleUpTo() {
+        synchronized (allocationLock) {
+            return inFlight.isEmpty() ? Long.MAX_VALUE : inFlight.first() - 1;
+        }
+    }
+
+    private void completed(Long sequence, boolean committed) {
+        inFlight.remove(sequence);
+        if (committed) {
+            CompletableFuture<Void> fired;
+            synchronized (this) {
+                fired = nextCommit;
+                nextCommit = new CompletableFuture<>();
+            }
+            fired.complete(null);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.xpanse.cp.product.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.xpanse.cp.product.cache.ProductIdentifierIndex;
+import com.xpanse.cp.product.exception.CreateQueueFullException;
+import com.xpanse.cp.product.exception.DuplicateProductException;
+import com.xpanse.cp.product.exception.InvalidRequestException;
+import com.xpanse.cp.product.exception.OperationNotFoundException;
+import com.xpanse.cp.product.model.BatchCreateResponse;
+import com.xpanse.cp.product.model.BatchCreateResult;
+import com.xpanse.cp.product.model.CreateOperation;
+import com.xpanse.cp.product.model.ProductDetails;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Write-behind pipeline for asynchronous product creates.
+ * Requests are validated up front and parked on a bounded queue; a single writer thread drains
+ * whatever has accumulated and inserts it as one batch in one transaction, so sustained throughput
+ * grows with the batch size rather than with the number of transactions. When the queue is full,
+ * callers are turned away instead of queueing without bound. When a batch fails as a whole, its
+ * items are retried one by one so each operation gets its own outcome. Outcomes are kept for a
+ * while so clients can poll them by operation id.
+ */
+@Component
+public class ProductCreateQueue implements MeterBinder {
+    /** logger object */
+    private static final Logger logger = LogManager.getLogger(ProductCreateQueue.class);
+
+    private final ProductManagementService productManagementService;
+    private final ProductIdentifierIndex productIdentifierIndex;
+    private final BlockingQueue<PendingCreate> queue;
+    private final int batchSize;
+    private final Cache<String, CreateOperation> operations;
+    private final Thread writer;
+
+    private volatile boolean running = true;
+
+    @Autowired
+    public ProductCreateQueue(ProductManagementService productManagementService,
+                              ProductIdentifierIndex productIdentifierIndex,
+                              @Value("${product.create.queue-capacity:10000}") int capacity,
+                              @Value("${product.create.batch-size:500}") int batchSize,
+                              @Value("${product.create.operation-retention:PT1H}") Duration operationRetention,
+                              @Value("${product.create.max-operations:100000}") long maxOperations) {
+        this(productManagementService, productIdentifierIndex, capacity, batchSize, operationRetention,
+                maxOperations, true);
+    }
+
+    ProductCreateQueue(ProductManagementService productManagementService,
+                       ProductIdentifierIndex productIdentifierIndex,
+                       int capacity, int batchSize, Duration operationRetention, long maxOperations,
+                       boolean startWriter) {
+        this.productManagementService = productManagementService;
+        this.productIdentifierIndex = productIdentifierIndex;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.operations = Caffeine.newBuilder()
+                .maximumSize(maxOperations)
+                .expireAfterWrite(operationRetention)
+                .build();
+        this.writer = new Thread(this::drainLoop, "product-create-writer");
+        this.writer.setDaemon(true);
+        if (startWriter) {
+            writer.start();
+        }
+    }
+
+    /**
+     * Validates the request and queues it for the writer.
+     *
+     * @return pending operation to poll for the outcome
+     * @throws CreateQueueFullException when the queue is at capacity
+     */
+    public CreateOperation submit(ProductDetails request) {
+        if (ProductManagementServiceImpl.isInvalidRequest(request)) {
+            throw new InvalidRequestException("Invalid request");
+        }
+        if (productIdentifierIndex.contains(request.getProductIdentifier())) {
+            throw new DuplicateProductException("Product with id " + request.getProductIdentifier() + " already exists");
+        }
+        CreateOperation operation = CreateOperation.pending(UUID.randomUUID().toString(), request.getProductIdentifier());
+        operations.put(operation.operationId(), operation);
+        if (!queue.offer(new PendingCreate(operation, request))) {
+            operations.invalidate(operation.operationId());
+            throw new CreateQueueFullException("Product create queue is full, retry later");
+        }
+        return operation;
+    }
+
+    public CreateOperation getOperation(String operationId) {
+        CreateOperation operation = operations.getIfPresent(operationId);
+        if (operation == null) {
+            throw new OperationNotFoundException("No operation found with id: | {} " + operationId);
+        }
+        return operation;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("product.create.queue.size", queue, BlockingQueue::size)
+                .description("Product creates waiting for the writer")
+                .register(registry);
+    }
+
+    /**
+     * Writes everything queued so far, in batches of at most batchSize.
+     *
+     * @return number of requests handed to the service
+     */
+    int flush() {
+        int written = 0;
+        List<PendingCreate> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            written += write(batch);
+            batch.clear();
+        }
+        return written;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        writer.interrupt();
+        try {
+            writer.join(Duration.ofSeconds(10).toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // whatever is still queued is written on the way out rather than dropped
+        flush();
+    }
+
+    private void drainLoop() {
+        List<PendingCreate> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch, batchSize - 1);
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private int write(List<PendingCreate> batch) {
+        List<ProductDetails> requests = new ArrayList<>(batch.size());
+        for (PendingCreate pending : batch) {
+            requests.add(pending.request());
+        }
+        try {
+            BatchCreateResponse response = productManagementService.createProducts(requests);
+            for (int i = 0; i < batch.size(); i++) {
+                CreateOperation operation = batch.get(i).operation();
+                operations.put(operation.operationId(), operation.complete(response.results().get(i)));
+            }
+        } catch (RuntimeException e) {
+            logger.error("product-management-api | event=product.create.batch.failed size={} message={}",
+                    batch.size(), e.getMessage());
+            for (PendingCreate pending : batch) {
+                CreateOperation operation = pending.operation();
+                operations.put(operation.operationId(), writeOne(operation, pending.request()));
+            }
+        }
+        return batch.size();
+    }
+
+    /**
+     * Creates a single item in its own transaction, so one bad item no longer decides the outcome of the others.
+     */
+    private CreateOperation writeOne(CreateOperation operation, ProductDetails request) {
+        BatchCreateResult.Status status;
+        String message;
+        try {
+            message = productManagementService.createProduct(request).getMessage();
+            status = BatchCreateResult.Status.CREATED;
+        } catch (DuplicateProductException e) {
+            message = e.getMessage();
+            status = BatchCreateResult.Status.DUPLICATE;
+        } catch (InvalidRequestException e) {
+            message = e.getMessage();
+            status = BatchCreateResult.Status.INVALID;
+        } catch (RuntimeException e) {
+            logger.error("product-management-api | event=product.create.failed productIdentifier={} message={}",
+                    request.getProductIdentifier(), e.getMessage());
+            return operation.fail("Product create failed");
+        }
+        // the identifier index learns the new id when the create commits
+        Long productId = status == BatchCreateResult.Status.CREATED
+                ? productIdentifierIndex.getProductId(request.getProductIdentifier()) : null;
+        return operation.complete(new BatchCreateResult(0, request.getProductIdentifier(), productId, status, message));
+    }
+
+    private record PendingCreate(CreateOperation operation, ProductDetails request) {
+    }
+}
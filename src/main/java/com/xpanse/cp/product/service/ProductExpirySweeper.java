@@ -0,0 +1,211 @@
+package com.xpanse.cp.product.service;
+
+import com.xpanse.cp.product.entity.Product;
+import com.xpanse.cp.product.event.ProductChangedEvent;
+import com.xpanse.cp.product.repository.ProductExpiry;
+import com.xpanse.cp.product.repository.ProductStore;
+import jakarta.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Flags products as expired once their expiration date has passed.
+ * Upcoming expiries are kept in a queue ordered by date, and a single timer is armed for the earliest
+ * one, so the sweeper only wakes up when something actually expires. Due products are expired in
+ * batches through the service, which publishes the events that invalidate cached copies. A batch the
+ * service fails to expire goes back into the queue and is retried after the retry delay.
+ */
+@Component
+public class ProductExpirySweeper {
+    /** logger object */
+    private static final Logger logger = LogManager.getLogger(ProductExpirySweeper.class);
+
+    private final ProductManagementService productManagementService;
+    private final ProductStore productStore;
+    private final int batchSize;
+    private final Duration retryDelay;
+    private final Clock clock;
+    private final NavigableMap<LocalDate, Set<Long>> upcoming = new ConcurrentSkipListMap<>();
+    /** queued date of each product, so an update moving the date can take the product off the old one */
+    private final Map<Long, LocalDate> queuedDates = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "product-expiry-sweeper");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** guarded by this */
+    private ScheduledFuture<?> nextSweep;
+    /** guarded by this */
+    private LocalDate nextSweepDate;
+
+    @Autowired
+    public ProductExpirySweeper(ProductManagementService productManagementService,
+                                ProductStore productStore,
+                                @Value("${product.expiry.batch-size:500}") int batchSize,
+                                @Value("${product.expiry.retry-delay:PT1M}") Duration retryDelay) {
+        this(productManagementService, productStore, batchSize, retryDelay, Clock.systemDefaultZone());
+    }
+
+    ProductExpirySweeper(ProductManagementService productManagementService,
+                         ProductStore productStore,
+                         int batchSize, Duration retryDelay, Clock clock) {
+        this.productManagementService = productManagementService;
+        this.productStore = productStore;
+        this.batchSize = batchSize;
+        this.retryDelay = retryDelay;
+        this.clock = clock;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        List<ProductExpiry> expiries = productStore.findAllUpcomingExpiries();
+        for (ProductExpiry expiry : expiries) {
+            enqueue(expiry.productId(), expiry.expirationDate());
+        }
+        logger.info("product-management-api | Tracking {} upcoming product expiries", expiries.size());
+        arm();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        Product product = event.product();
+        if (event.changeType() == ProductChangedEvent.ChangeType.EXPIRED) {
+            return;
+        }
+        if (product.getExpirationDate() != null && !product.isExpired()) {
+            enqueue(product.getProductId(), product.getExpirationDate());
+            arm();
+        } else if (event.changeType() == ProductChangedEvent.ChangeType.UPDATED) {
+            dequeue(product.getProductId());
+        }
+    }
+
+    /**
+     * Expires every queued product whose expiration date is before today, then re-arms the timer.
+     * Batches that fail are queued again under their date and the next sweep waits for the retry delay.
+     *
+     * @return number of products handed to the service
+     */
+    int sweep() {
+        LocalDate today = LocalDate.now(clock);
+        List<Long> due = new ArrayList<>();
+        List<LocalDate> dueDates = new ArrayList<>();
+        Map.Entry<LocalDate, Set<Long>> entry;
+        while ((entry = upcoming.firstEntry()) != null && entry.getKey().isBefore(today)) {
+            if (upcoming.remove(entry.getKey(), entry.getValue())) {
+                for (Long productId : entry.getValue()) {
+                    queuedDates.remove(productId, entry.getKey());
+                    due.add(productId);
+                    dueDates.add(entry.getKey());
+                }
+            }
+        }
+        LocalDate retryDate = null;
+        for (int from = 0; from < due.size(); from += batchSize) {
+            int to = Math.min(from + batchSize, due.size());
+            List<Long> batch = due.subList(from, to);
+            try {
+                productManagementService.expireProducts(batch);
+            } catch (RuntimeException e) {
+                logger.error("product-management-api | Failed to expire {} products, retrying in {}: {}",
+                        batch.size(), retryDelay, e.getMessage());
+                for (int i = from; i < to; i++) {
+                    requeue(due.get(i), dueDates.get(i));
+                }
+                if (retryDate == null) {
+                    // due is in date order, the first failed batch holds the earliest date
+                    retryDate = dueDates.get(from);
+                }
+            }
+        }
+        synchronized (this) {
+            if (retryDate != null) {
+                if (nextSweep != null) {
+                    nextSweep.cancel(false);
+                }
+                nextSweepDate = retryDate;
+                nextSweep = scheduler.schedule(this::sweep, retryDelay.toMillis(), TimeUnit.MILLISECONDS);
+            } else {
+                nextSweepDate = null;
+            }
+        }
+        arm();
+        return due.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private void enqueue(Long productId, LocalDate expirationDate) {
+        LocalDate previous = queuedDates.put(productId, expirationDate);
+        if (previous != null && !previous.equals(expirationDate)) {
+            remove(productId, previous);
+        }
+        upcoming.computeIfAbsent(expirationDate, date -> ConcurrentHashMap.newKeySet()).add(productId);
+    }
+
+    /**
+     * Puts a product back under the date it was taken from, unless an update queued it again meanwhile.
+     */
+    private void requeue(Long productId, LocalDate expirationDate) {
+        if (queuedDates.putIfAbsent(productId, expirationDate) == null) {
+            upcoming.computeIfAbsent(expirationDate, date -> ConcurrentHashMap.newKeySet()).add(productId);
+        }
+    }
+
+    private void dequeue(Long productId) {
+        LocalDate previous = queuedDates.remove(productId);
+        if (previous != null) {
+            remove(productId, previous);
+        }
+    }
+
+    private void remove(Long productId, LocalDate expirationDate) {
+        upcoming.computeIfPresent(expirationDate, (date, productIds) -> {
+            productIds.remove(productId);
+            return productIds.isEmpty() ? null : productIds;
+        });
+    }
+
+    /**
+     * Points the timer at the earliest queued date, unless it is already armed for that date or an earlier one.
+     */
+    private synchronized void arm() {
+        Map.Entry<LocalDate, Set<Long>> first = upcoming.firstEntry();
+        if (first == null || (nextSweepDate != null && !first.getKey().isBefore(nextSweepDate))) {
+            return;
+        }
+        if (nextSweep != null) {
+            nextSweep.cancel(false);
+        }
+        // a product stays valid through its expiration date and expires at the start of the next day
+        long delayMillis = Duration.between(clock.instant(),
+                first.getKey().plusDays(1).atStartOfDay(clock.getZone()).toInstant()).toMillis();
+        nextSweepDate = first.getKey();
+        nextSweep = scheduler.schedule(this::sweep, Math.max(0, delayMillis), TimeUnit.MILLISECONDS);
+    }
+}
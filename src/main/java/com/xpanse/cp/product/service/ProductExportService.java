@@ -0,0 +1,68 @@
+package com.xpanse.cp.product.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.xpanse.cp.product.model.ProductView;
+import com.xpanse.cp.product.repository.ProductStore;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.stream.Stream;
+
+/**
+ * Streams the whole catalog as newline-delimited JSON from the store's forward-only view stream,
+ * so memory stays flat regardless of catalog size.
+ */
+@Service
+public class ProductExportService {
+    /** logger object */
+    private static final Logger logger = LogManager.getLogger(ProductExportService.class);
+    private static final int FLUSH_INTERVAL = 500;
+
+    private final ProductStore productStore;
+    private final ObjectWriter productWriter;
+
+    public ProductExportService(ProductStore productStore, ObjectMapper objectMapper) {
+        this.productStore = productStore;
+        this.productWriter = objectMapper.writerFor(ProductView.class)
+                .withRootValueSeparator("\n")
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    /**
+     * @param out stream the NDJSON lines are written to, flushed after the first row and every 500 rows
+     * @return number of exported products
+     */
+    @Transactional(readOnly = true)
+    public long exportProducts(OutputStream out) {
+        long count = 0;
+        try (Stream<ProductView> products = productStore.streamAllViews();
+             SequenceWriter lines = productWriter.writeValues(out)) {
+            for (ProductView product : (Iterable<ProductView>) products::iterator) {
+                lines.write(product);
+                if (++count % FLUSH_INTERVAL == 1) {
+                    lines.flush();
+                }
+            }
+            lines.flush();
+            if (count > 0) {
+                out.write('\n');
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        logger.info("product-management-api | Exported {} products", count);
+        return count;
+    }
+
+}
@@ -1,14 +1,31 @@
 package com.xpanse.cp.product.service;
 
 import com.xpanse.cp.product.entity.APIResponse;
-import com.xpanse.cp.product.entity.Product;
 import com.xpanse.cp.product.exception.ProductNotFoundException;
+import com.xpanse.cp.product.model.BatchCreateResponse;
 import com.xpanse.cp.product.model.ProductDetails;
+import com.xpanse.cp.product.model.ProductMultiGetResponse;
+import com.xpanse.cp.product.model.ProductPage;
+import com.xpanse.cp.product.model.ProductVersion;
+import com.xpanse.cp.product.model.ProductView;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface ProductManagementService {
 
     APIResponse createProduct(ProductDetails request);
-    Product getByProductId(Long productId) throws ProductNotFoundException;
+    BatchCreateResponse createProducts(List<ProductDetails> requests);
+    ProductView updateProduct(Long productId, ProductDetails request, Long expectedVersion);
+    ProductView patchProduct(Long productId, ProductDetails request, Long expectedVersion);
+    ProductView getByProductId(Long productId) throws ProductNotFoundException;
+    ProductMultiGetResponse getByProductIds(List<Long> productIds);
+    ProductVersion getProductVersion(Long productId) throws ProductNotFoundException;
+    ProductView getByProductIdentifier(String productIdentifier) throws ProductNotFoundException;
+    ProductPage listProducts(Long after, int limit, boolean excludeExpired);
+    ProductPage listProductsByTenant(String tenantId, Long after, int limit, boolean excludeExpired);
+    List<ProductView> searchProducts(String query, int limit, boolean excludeExpired);
+    int expireProducts(Collection<Long> productIds);
 
 }
 
@@ -1,65 +1,532 @@
 package com.xpanse.cp.product.service;
 
+import com.xpanse.cp.product.cache.ProductIdentifierIndex;
+import com.xpanse.cp.product.cache.ProductSearchIndex;
+import com.xpanse.cp.product.cache.TenantProductIndex;
+import com.xpanse.cp.product.cache.ProductCache;
 import com.xpanse.cp.product.entity.APIResponse;
 import com.xpanse.cp.product.entity.Product;
+import com.xpanse.cp.product.event.ProductChangedEvent;
 import com.xpanse.cp.product.exception.DuplicateProductException;
 import com.xpanse.cp.product.exception.InvalidRequestException;
+import com.xpanse.cp.product.exception.ProductConflictException;
 import com.xpanse.cp.product.exception.ProductNotFoundException;
+import com.xpanse.cp.product.model.BatchCreateResponse;
+import com.xpanse.cp.product.model.BatchCreateResult;
 import com.xpanse.cp.product.model.ProductDetails;
-import com.xpanse.cp.product.repository.ProductManagementRepository;
+import com.xpanse.cp.product.model.ProductMultiGetResponse;
+import com.xpanse.cp.product.model.ProductPage;
+import com.xpanse.cp.product.model.ProductVersion;
+import com.xpanse.cp.product.model.ProductView;
+import com.xpanse.cp.product.repository.ProductStore;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 
 @Service
 public class ProductManagementServiceImpl implements ProductManagementService {
     /** logger object */
     private static final Logger logger = LogManager.getLogger(ProductManagementServiceImpl.class);
-    private final ProductManagementRepository productManagementRepository;
+    private final ProductStore productStore;
+    private final ProductCache productCache;
+    private final ProductIdentifierIndex productIdentifierIndex;
+    private final TenantProductIndex tenantProductIndex;
+    private final ProductSearchIndex productSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int maxBatchSize;
+    private final int maxPageSize;
 
-    public ProductManagementServiceImpl(ProductManagementRepository productManagementRepository) {
-        this.productManagementRepository = productManagementRepository;
+    public ProductManagementServiceImpl(ProductStore productStore,
+                                        ProductCache productCache,
+                                        ProductIdentifierIndex productIdentifierIndex,
+                                        TenantProductIndex tenantProductIndex,
+                                        ProductSearchIndex productSearchIndex,
+                                        ApplicationEventPublisher eventPublisher,
+                                        @Value("${product.batch.max-size:5000}") int maxBatchSize,
+                                        @Value("${product.page.max-size:1000}") int maxPageSize) {
+        this.productStore = productStore;
+        this.productCache = productCache;
+        this.productIdentifierIndex = productIdentifierIndex;
+        this.tenantProductIndex = tenantProductIndex;
+        this.productSearchIndex = productSearchIndex;
+        this.eventPublisher = eventPublisher;
+        this.maxBatchSize = maxBatchSize;
+        this.maxPageSize = maxPageSize;
     }
+    /**
+     * Transactional so the change log entry is written together with the product.
+     */
     @Override
+    @Transactional
     public APIResponse createProduct(ProductDetails request) {
-        logger.info("product-management-api | Product details : {} ", request);
-
         if(isInvalidRequest(request)) {
             throw new InvalidRequestException("Invalid request");
         }
 
-        if (productManagementRepository.existsByProductIdentifier(request.getProductIdentifier())) {
-            throw new DuplicateProductException("Product with id " + request.getProductIdentifier() + " already exists");
+        // known identifiers fail fast, anything else is settled by the unique index on insert
+        if (productIdentifierIndex.contains(request.getProductIdentifier())) {
+            throw duplicateProduct(request.getProductIdentifier());
         }
 
-        Product response = productManagementRepository.save(updateProductFromRequest(request));
-        logger.info("product-management-api | Saved product response : {} ", response);
+        Product response;
+        try {
+            response = productStore.saveAndFlush(updateProductFromRequest(request));
+        } catch (DataIntegrityViolationException e) {
+            if (!isDuplicateIdentifierViolation(e)) {
+                throw e;
+            }
+            productIdentifierIndex.markExisting(request.getProductIdentifier());
+            throw duplicateProduct(request.getProductIdentifier());
+        }
+        logger.info("product-management-api | event=product.created productId={} productIdentifier={} version={}",
+                response.getProductId(), response.getProductIdentifier(), response.getVersion());
+        eventPublisher.publishEvent(new ProductChangedEvent(response, ProductChangedEvent.ChangeType.CREATED));
         APIResponse apiResponse = new APIResponse();
         apiResponse.setMessage("Product details saved successfully");
         apiResponse.setStatus("Success");
         return apiResponse;
     }
 
+    /**
+     * Validates every item, checks all identifiers for duplicates with one query and inserts the
+     * valid ones in a single transaction, relying on JDBC batching and the pooled id sequence.
+     */
+    @Override
+    @Transactional
+    public BatchCreateResponse createProducts(List<ProductDetails> requests) {
+        if (requests == null || requests.isEmpty() || requests.size() > maxBatchSize) {
+            throw new InvalidRequestException("Invalid request");
+        }
+        logger.info("product-management-api | event=product.batch.received requested={}", requests.size());
+
+        // a constraint violation would roll back the whole batch, so unknown identifiers are still checked up front
+        Set<String> unknownIdentifiers = new HashSet<>();
+        for (ProductDetails request : requests) {
+            if (!isInvalidRequest(request) && !productIdentifierIndex.contains(request.getProductIdentifier())) {
+                unknownIdentifiers.add(request.getProductIdentifier());
+            }
+        }
+        Set<String> existingIdentifiers = unknownIdentifiers.isEmpty() ? Set.of()
+                : productStore.findExistingProductIdentifiers(unknownIdentifiers);
+
+        BatchCreateResult[] results = new BatchCreateResult[requests.size()];
+        List<Integer> pendingIndexes = new ArrayList<>();
+        List<Product> pendingProducts = new ArrayList<>();
+        Set<String> seenIdentifiers = new HashSet<>();
+        for (int i = 0; i < requests.size(); i++) {
+            ProductDetails request = requests.get(i);
+            if (isInvalidRequest(request)) {
+                results[i] = new BatchCreateResult(i, request == null ? null : request.getProductIdentifier(), null,
+                        BatchCreateResult.Status.INVALID, "Invalid request");
+            } else if (productIdentifierIndex.contains(request.getProductIdentifier())
+                    || existingIdentifiers.contains(request.getProductIdentifier())
+                    || !seenIdentifiers.add(request.getProductIdentifier())) {
+                results[i] = new BatchCreateResult(i, request.getProductIdentifier(), null,
+                        BatchCreateResult.Status.DUPLICATE,
+                        "Product with id " + request.getProductIdentifier() + " already exists");
+            } else {
+                pendingIndexes.add(i);
+                pendingProducts.add(updateProductFromRequest(request));
+            }
+        }
+
+        // flushed here so an identifier inserted concurrently since the check above surfaces as a 409, not on commit
+        List<Product> saved;
+        try {
+            saved = productStore.saveAllAndFlush(pendingProducts);
+        } catch (DataIntegrityViolationException e) {
+            if (!isDuplicateIdentifierViolation(e)) {
+                throw e;
+            }
+            throw new DuplicateProductException("A product in the batch was created by another request");
+        }
+        for (int i = 0; i < saved.size(); i++) {
+            Product product = saved.get(i);
+            int index = pendingIndexes.get(i);
+            results[index] = new BatchCreateResult(index, product.getProductIdentifier(), product.getProductId(),
+                    BatchCreateResult.Status.CREATED, "Product details saved successfully");
+            eventPublisher.publishEvent(new ProductChangedEvent(product, ProductChangedEvent.ChangeType.CREATED));
+        }
+        logger.info("product-management-api | event=product.batch.created created={} requested={}", saved.size(), requests.size());
+        return new BatchCreateResponse(saved.size(), requests.size() - saved.size(), List.of(results));
+    }
+
+    /**
+     * Replaces every field of the product, validated like a create.
+     */
+    @Override
+    @Transactional
+    public ProductView updateProduct(Long productId, ProductDetails request, Long expectedVersion) {
+        if (isInvalidRequest(request)) {
+            throw new InvalidRequestException("Invalid request");
+        }
+        return update(productId, expectedVersion, product -> applyRequest(product, request, false));
+    }
+
+    /**
+     * Changes only the fields present in the request.
+     */
+    @Override
+    @Transactional
+    public ProductView patchProduct(Long productId, ProductDetails request, Long expectedVersion) {
+        if (isInvalidPatch(request)) {
+            throw new InvalidRequestException("Invalid request");
+        }
+        return update(productId, expectedVersion, product -> applyRequest(product, request, true));
+    }
+
+    @Override
+    public ProductView getByProductId(Long productId) throws ProductNotFoundException {
+        long generation = productCache.generation();
+        ProductView product = productCache.isKnownMissing(productId) ? null : productCache.get(productId,
+                id -> productStore.findViewByProductId(id).orElse(null));
+        if (product == null) {
+            productCache.markMissing(productId, generation);
+            throw new ProductNotFoundException("No Product found with id: | {} " + productId);
+        }
+        return product;
+    }
+
+    /**
+     * Serves the cached products and reads the rest with one IN-list query. Ids already known to be missing
+     * skip the query, and the ids found missing are remembered and reported instead of thrown.
+     */
+    @Override
+    public ProductMultiGetResponse getByProductIds(List<Long> productIds) {
+        if (productIds == null || productIds.isEmpty() || productIds.size() > maxPageSize) {
+            throw new InvalidRequestException("Invalid request");
+        }
+        Set<Long> requested = new LinkedHashSet<>(productIds);
+        List<Long> notFound = new ArrayList<>();
+        List<Long> lookups = new ArrayList<>(requested.size());
+        for (Long productId : requested) {
+            if (productId == null) {
+                throw new InvalidRequestException("Invalid request");
+            }
+            if (productCache.isKnownMissing(productId)) {
+                notFound.add(productId);
+            } else {
+                lookups.add(productId);
+            }
+        }
+        long generation = productCache.generation();
+        List<ProductView> products = getViews(lookups, false);
+        if (products.size() < lookups.size()) {
+            Set<Long> found = products.stream().map(ProductView::productId).collect(Collectors.toSet());
+            for (Long productId : lookups) {
+                if (!found.contains(productId)) {
+                    productCache.markMissing(productId, generation);
+                    notFound.add(productId);
+                }
+            }
+        }
+        return new ProductMultiGetResponse(products, notFound);
+    }
+
+    /**
+     * Answers from the cached product when there is one, otherwise reads only the version columns. Ids known
+     * to be missing are answered without a query, like in getByProductId, since every GET starts here.
+     */
+    @Override
+    public ProductVersion getProductVersion(Long productId) throws ProductNotFoundException {
+        ProductView cached = productCache.getIfPresent(productId);
+        if (cached != null) {
+            return ProductVersion.of(cached);
+        }
+        long generation = productCache.generation();
+        ProductVersion version = productCache.isKnownMissing(productId) ? null
+                : productStore.findVersionByProductId(productId).orElse(null);
+        if (version == null) {
+            productCache.markMissing(productId, generation);
+            throw new ProductNotFoundException("No Product found with id: | {} " + productId);
+        }
+        return version;
+    }
+
+    @Override
+    public ProductView getByProductIdentifier(String productIdentifier) throws ProductNotFoundException {
+        Long productId = productIdentifierIndex.getProductId(productIdentifier);
+        if (productId == null) {
+            productId = productStore.findProductIdByProductIdentifier(productIdentifier)
+                    .orElseThrow(() -> new ProductNotFoundException(
+                            "No Product found with identifier: | {} " + productIdentifier));
+            productIdentifierIndex.put(productIdentifier, productId);
+        }
+        return getByProductId(productId);
+    }
+
+    /**
+     * Keyset pagination on productId, reads one extra id to tell whether another page exists. The page
+     * ids come from the index, the products themselves from the cache or one read query for the rest.
+     */
+    @Override
+    public ProductPage listProducts(Long after, int limit, boolean excludeExpired) {
+        if (limit < 1 || limit > maxPageSize) {
+            throw new InvalidRequestException("Invalid request");
+        }
+        long cursor = after == null ? 0L : after;
+        return toPage(getViews(productStore.findProductIds(cursor, !excludeExpired,
+                Limit.of(limit + 1)), false), limit);
+    }
+
+    /**
+     * Pages through the products granted to a tenant. Served from the in-memory posting lists and the
+     * product cache once the tenant index is warm, from the indexed tenant join table before that.
+     */
+    @Override
+    public ProductPage listProductsByTenant(String tenantId, Long after, int limit, boolean excludeExpired) {
+        if (limit < 1 || limit > maxPageSize) {
+            throw new InvalidRequestException("Invalid request");
+        }
+        long cursor = after == null ? 0L : after;
+        if (!tenantProductIndex.isReady()) {
+            return toPage(getViews(productStore.findProductIdsByTenant(tenantId, cursor,
+                    !excludeExpired, Limit.of(limit + 1)), false), limit);
+        }
+        // expired products are skipped after loading, so keep reading posting-list slices until the page is full
+        List<ProductView> products = new ArrayList<>(limit + 1);
+        while (products.size() <= limit) {
+            List<Long> productIds = tenantProductIndex.getProductIds(tenantId, cursor, limit + 1);
+            if (productIds.isEmpty()) {
+                break;
+            }
+            for (ProductView product : getViews(productIds, excludeExpired)) {
+                // the posting lists only narrow the candidates, the grant itself is checked on the product
+                if (products.size() <= limit && product.allowedTenants().contains(tenantId)) {
+                    products.add(product);
+                }
+            }
+            if (productIds.size() <= limit) {
+                break;
+            }
+            cursor = productIds.get(productIds.size() - 1);
+        }
+        return toPage(products, limit);
+    }
+
+    /**
+     * Type-ahead search served from the in-memory search index and the product cache.
+     */
+    @Override
+    public List<ProductView> searchProducts(String query, int limit, boolean excludeExpired) {
+        if (query == null || query.isBlank() || limit < 1 || limit > maxPageSize) {
+            throw new InvalidRequestException("Invalid request");
+        }
+        return getViews(productSearchIndex.search(query, limit, excludeExpired), excludeExpired);
+    }
+
+    /**
+     * Flags the given products as expired in one transaction, skipping the ones already flagged.
+     */
     @Override
-    public Product getByProductId(Long productId) throws ProductNotFoundException {
-        return productManagementRepository.findByProductId(productId)
+    @Transactional
+    public int expireProducts(Collection<Long> productIds) {
+        List<Product> expired = new ArrayList<>();
+        for (Product product : productStore.findAllById(productIds)) {
+            if (!product.isExpired()) {
+                product.setExpired(true);
+                expired.add(product);
+                eventPublisher.publishEvent(new ProductChangedEvent(product, ProductChangedEvent.ChangeType.EXPIRED));
+            }
+        }
+        // a no-op for managed entities, but stores without dirty checking need the explicit write
+        productStore.saveAll(expired);
+        logger.info("product-management-api | event=product.expired expired={} requested={}", expired.size(), productIds.size());
+        return expired.size();
+    }
+
+    /**
+     * Optimistic update: the product is read without a lock, and the write only succeeds while its version
+     * is still the one read, or the one the client expects. Dirty checking leaves an unchanged product
+     * alone, so it is neither written nor announced and keeps its version.
+     *
+     * @param expectedVersion version the client based its change on, null to only guard against concurrent writers
+     * @param changes         applies the request to the product, returns whether anything changed
+     */
+    private ProductView update(Long productId, Long expectedVersion, Predicate<Product> changes) {
+        Product product = productStore.findById(productId)
                 .orElseThrow(() -> new ProductNotFoundException("No Product found with id: | {} " + productId));
+        if (expectedVersion != null && !expectedVersion.equals(product.getVersion())) {
+            throw staleVersion(productId);
+        }
+        String previousIdentifier = product.getProductIdentifier();
+        if (!changes.test(product)) {
+            return ProductView.of(product);
+        }
+        String productIdentifier = product.getProductIdentifier();
+        boolean identifierChanged = !Objects.equals(productIdentifier, previousIdentifier);
+        if (identifierChanged && productIdentifierIndex.contains(productIdentifier)) {
+            throw duplicateProduct(productIdentifier);
+        }
+        try {
+            product = productStore.saveAndFlush(product);
+        } catch (OptimisticLockingFailureException e) {
+            throw staleVersion(productId);
+        } catch (DataIntegrityViolationException e) {
+            if (!identifierChanged || !isDuplicateIdentifierViolation(e)) {
+                throw e;
+            }
+            productIdentifierIndex.markExisting(productIdentifier);
+            throw duplicateProduct(productIdentifier);
+        }
+        logger.info("product-management-api | event=product.updated productId={} productIdentifier={} version={}",
+                productId, productIdentifier, product.getVersion());
+        eventPublisher.publishEvent(new ProductChangedEvent(product, ProductChangedEvent.ChangeType.UPDATED,
+                previousIdentifier));
+        return ProductView.of(product);
+    }
+
+    /**
+     * Copies the request onto the product field by field, leaving equal values untouched so only real
+     * changes become dirty columns. Tenants are changed in place, so only added and removed rows are written.
+     *
+     * @param partial leave out the fields that are null in the request
+     * @return true when anything changed
+     */
+    private static boolean applyRequest(Product product, ProductDetails request, boolean partial) {
+        boolean changed = false;
+        if (!partial || request.getProductIdentifier() != null) {
+            changed |= set(product.getProductIdentifier(), request.getProductIdentifier(), product::setProductIdentifier);
+        }
+        if (!partial || request.getProductName() != null) {
+            changed |= set(product.getProductName(), request.getProductName(), product::setProductName);
+        }
+        if (!partial || request.getExpirationDate() != null) {
+            LocalDate expirationDate = request.getExpirationDate() == null ? null
+                    : LocalDate.parse(request.getExpirationDate());
+            changed |= set(product.getExpirationDate(), expirationDate, product::setExpirationDate);
+            changed |= set(product.isExpired(), expirationDate != null && expirationDate.isBefore(LocalDate.now()),
+                    product::setExpired);
+        }
+        if (!partial || request.getEnvironmentsSupported() != null) {
+            changed |= set(product.getEnvironmentsSupported(), String.valueOf(request.getEnvironmentsSupported()),
+                    product::setEnvironmentsSupported);
+        }
+        if (!partial || request.getOwnerEmail() != null) {
+            changed |= set(product.getOwnerEmail(), request.getOwnerEmail(), product::setOwnerEmail);
+        }
+        if (!partial || request.getAllowedTenant() != null || request.getAllowedTenants() != null) {
+            Set<String> tenants = toTenantSet(request);
+            if (!product.getAllowedTenants().equals(tenants)) {
+                product.getAllowedTenants().retainAll(tenants);
+                product.getAllowedTenants().addAll(tenants);
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    private static <T> boolean set(T current, T value, Consumer<T> setter) {
+        if (Objects.equals(current, value)) {
+            return false;
+        }
+        setter.accept(value);
+        return true;
     }
 
-    private Product updateProductFromRequest(ProductDetails request) {
-        logger.info("product-management-api | convert : {} ", request);
+    /**
+     * @param productIds ids in the order the views should be returned
+     * @return cached or freshly read views, without ids that no longer exist
+     */
+    private List<ProductView> getViews(List<Long> productIds, boolean excludeExpired) {
+        Map<Long, ProductView> views = productCache.getAll(productIds, missing ->
+                productStore.findViewsByProductIdIn(missing).stream()
+                        .collect(Collectors.toMap(ProductView::productId, Function.identity())));
+        List<ProductView> products = new ArrayList<>(productIds.size());
+        for (Long productId : productIds) {
+            ProductView product = views.get(productId);
+            if (product != null && !(excludeExpired && product.expired())) {
+                products.add(product);
+            }
+        }
+        return products;
+    }
+
+    /**
+     * @param products up to limit + 1 products ordered by productId, the extra one signals a next page
+     */
+    private ProductPage toPage(List<ProductView> products, int limit) {
+        if (products.size() <= limit) {
+            return new ProductPage(products, null);
+        }
+        List<ProductView> items = products.subList(0, limit);
+        return new ProductPage(items, items.get(limit - 1).productId());
+    }
+
+    private DuplicateProductException duplicateProduct(String productIdentifier) {
+        return new DuplicateProductException("Product with id " + productIdentifier + " already exists");
+    }
+
+    private ProductConflictException staleVersion(Long productId) {
+        return new ProductConflictException("Product with id " + productId + " was changed by another request");
+    }
+
+    private boolean isDuplicateIdentifierViolation(DataIntegrityViolationException e) {
+        if (e instanceof DuplicateKeyException) {
+            return e.getMessage() != null && e.getMessage().contains(Product.PRODUCT_IDENTIFIER_CONSTRAINT);
+        }
+        return e.getCause() instanceof ConstraintViolationException violation
+                && violation.getConstraintName() != null
+                && violation.getConstraintName().toLowerCase().contains(Product.PRODUCT_IDENTIFIER_CONSTRAINT);
+    }
+
+    /** package-private for the request mapping benchmark */
+    static Product updateProductFromRequest(ProductDetails request) {
         Product product = new Product();
         product.setProductName(request.getProductName());
         product.setProductIdentifier(request.getProductIdentifier());
-        product.setExpirationDate(request.getExpirationDate());
+        if (request.getExpirationDate() != null) {
+            LocalDate expirationDate = LocalDate.parse(request.getExpirationDate());
+            product.setExpirationDate(expirationDate);
+            product.setExpired(expirationDate.isBefore(LocalDate.now()));
+        }
         product.setEnvironmentsSupported(String.valueOf(request.getEnvironmentsSupported()));
         product.setOwnerEmail(request.getOwnerEmail());
-        product.setAllowedTenant(request.getAllowedTenant());
+        product.setAllowedTenants(toTenantSet(request));
         return product;
     }
 
-    private boolean isInvalidRequest(ProductDetails request) {
+    private static Set<String> toTenantSet(ProductDetails request) {
+        Set<String> tenants = new HashSet<>();
+        if (request.getAllowedTenant() != null && !request.getAllowedTenant().trim().isEmpty()) {
+            tenants.add(request.getAllowedTenant().trim());
+        }
+        if (request.getAllowedTenants() != null) {
+            for (String tenant : request.getAllowedTenants()) {
+                if (tenant != null && !tenant.trim().isEmpty()) {
+                    tenants.add(tenant.trim());
+                }
+            }
+        }
+        return tenants;
+    }
+
+    /** package-private for the request mapping benchmark */
+    static boolean isInvalidRequest(ProductDetails request) {
         return request == null
                 || request.getProductName() == null
                 || request.getProductName().trim().isEmpty()
@@ -67,7 +534,35 @@ public class ProductManagementServiceImpl implements ProductManagementService {
                 || request.getProductIdentifier().trim().isEmpty()
                 || request.getEnvironmentsSupported() == null
                 || request.getOwnerEmail() == null
-                || request.getOwnerEmail().trim().isEmpty();
+                || request.getOwnerEmail().trim().isEmpty()
+                || isInvalidDate(request.getExpirationDate());
+    }
+
+    /**
+     * Fields left null are not changed, the ones present must be valid.
+     */
+    private static boolean isInvalidPatch(ProductDetails request) {
+        return request == null
+                || isBlank(request.getProductName())
+                || isBlank(request.getProductIdentifier())
+                || isBlank(request.getOwnerEmail())
+                || isInvalidDate(request.getExpirationDate());
+    }
+
+    private static boolean isBlank(String value) {
+        return value != null && value.trim().isEmpty();
+    }
+
+    private static boolean isInvalidDate(String date) {
+        if (date == null) {
+            return false;
+        }
+        try {
+            LocalDate.parse(date);
+            return false;
+        } catch (DateTimeParseException e) {
+            return true;
+        }
     }
 }
 
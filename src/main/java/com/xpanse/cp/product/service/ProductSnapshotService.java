@@ -0,0 +1,292 @@
+package com.xpanse.cp.product.service;
+
+import com.xpanse.cp.product.cache.ProductCache;
+import com.xpanse.cp.product.model.ProductView;
+import com.xpanse.cp.product.repository.ProductBulkLoader;
+import com.xpanse.cp.product.repository.ProductStore;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Compact binary snapshot of the whole catalog, used to warm start a node whose in-memory database
+ * starts out empty.
+ * The export streams one consistent read of the product table without blocking writers. The import
+ * memory-maps the file and streams products into the store's bulk loader and the product cache. Products
+ * loaded from a snapshot do not appear in the change feed.
+ * <p>
+ * Format version 1, big-endian: int magic, short version, then one record per product, each
+ * starting with a ROW marker, and finally an END marker followed by the long product count.
+ * A record holds the long productId, a flags byte, the strings (varint length + 1 then UTF-8,
+ * 0 for null), the expiration date as int epoch day, timestamps as long UTC epoch second plus int
+ * nanos, the long version, and a varint count of tenant strings. Absent values are marked in the flags.
+ */
+@Service
+public class ProductSnapshotService {
+    /** logger object */
+    private static final Logger logger = LogManager.getLogger(ProductSnapshotService.class);
+
+    static final int MAGIC = 0x50534E50;
+    static final short FORMAT_VERSION = 1;
+
+    private static final byte ROW = 1;
+    private static final byte END = 0;
+    private static final int EXPIRED = 1;
+    private static final int HAS_EXPIRATION_DATE = 1 << 1;
+    private static final int HAS_CREATED_DATE = 1 << 2;
+    private static final int HAS_UPDATED_DATE = 1 << 3;
+    private static final int HAS_VERSION = 1 << 4;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ProductStore productStore;
+    private final ProductBulkLoader productBulkLoader;
+    private final ProductCache productCache;
+    private final int batchSize;
+    private final String loadPath;
+
+    public ProductSnapshotService(ProductStore productStore,
+                                  ProductBulkLoader productBulkLoader,
+                                  ProductCache productCache,
+                                  @Value("${product.snapshot.batch-size:1000}") int batchSize,
+                                  @Value("${product.snapshot.load-path:}") String loadPath) {
+        this.productStore = productStore;
+        this.productBulkLoader = productBulkLoader;
+        this.productCache = productCache;
+        this.batchSize = batchSize;
+        this.loadPath = loadPath;
+    }
+
+    /**
+     * Loads the configured snapshot before the indexes warm up, when the catalog is still empty.
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    public void loadOnStartup() {
+        if (loadPath.isBlank()) {
+            return;
+        }
+        Path path = Path.of(loadPath);
+        if (!Files.isRegularFile(path)) {
+            logger.warn("product-management-api | event=snapshot.load.skipped reason=missing path={}", path);
+            return;
+        }
+        if (productStore.count() > 0) {
+            logger.warn("product-management-api | event=snapshot.load.skipped reason=not-empty path={}", path);
+            return;
+        }
+        importSnapshot(path);
+    }
+
+    /**
+     * @param out stream the snapshot is written to
+     * @return number of exported products
+     */
+    @Transactional(readOnly = true)
+    public long writeSnapshot(OutputStream out) {
+        long count = 0;
+        try (Stream<ProductView> products = productStore.streamAllViews()) {
+            DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out, BUFFER_SIZE));
+            data.writeInt(MAGIC);
+            data.writeShort(FORMAT_VERSION);
+            for (ProductView product : (Iterable<ProductView>) products::iterator) {
+                writeProduct(data, product);
+                count++;
+            }
+            data.writeByte(END);
+            data.writeLong(count);
+            data.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        logger.info("product-management-api | event=snapshot.written products={}", count);
+        return count;
+    }
+
+    /**
+     * Loads every product of the snapshot, one transaction per batch, keeping ids, versions and
+     * timestamps, then moves the store's id allocation past the highest loaded id.
+     *
+     * @param path snapshot file, must fit a single mapping (2 GB)
+     * @return number of loaded products
+     */
+    public long importSnapshot(Path path) {
+        long started = System.nanoTime();
+        long count = 0;
+        long maxProductId = 0;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Snapshot larger than 2 GB: " + path);
+            }
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < Integer.BYTES + Short.BYTES || buffer.getInt() != MAGIC) {
+                throw new IllegalArgumentException("Not a product snapshot: " + path);
+            }
+            short version = buffer.getShort();
+            if (version != FORMAT_VERSION) {
+                throw new IllegalArgumentException("Unsupported snapshot version " + version + ": " + path);
+            }
+            List<ProductView> batch = new ArrayList<>(batchSize);
+            byte marker;
+            while ((marker = buffer.get()) == ROW) {
+                ProductView product = readProduct(buffer);
+                batch.add(product);
+                maxProductId = Math.max(maxProductId, product.productId());
+                if (batch.size() == batchSize) {
+                    count += insert(batch);
+                }
+            }
+            count += insert(batch);
+            if (marker != END || buffer.getLong() != count) {
+                throw new IllegalArgumentException("Corrupt product snapshot: " + path);
+            }
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated product snapshot: " + path, e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (count > 0) {
+            productBulkLoader.moveIdsPast(maxProductId);
+        }
+        logger.info("product-management-api | event=snapshot.loaded products={} elapsedMs={} path={}",
+                count, (System.nanoTime() - started) / 1_000_000, path);
+        return count;
+    }
+
+    /**
+     * Loads and caches the batch, then clears it.
+     */
+    private int insert(List<ProductView> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        productBulkLoader.loadAll(batch);
+        batch.forEach(productCache::put);
+        int inserted = batch.size();
+        batch.clear();
+        return inserted;
+    }
+
+    private static void writeProduct(DataOutputStream data, ProductView product) throws IOException {
+        int flags = (product.expired() ? EXPIRED : 0)
+                | (product.expirationDate() != null ? HAS_EXPIRATION_DATE : 0)
+                | (product.createdDate() != null ? HAS_CREATED_DATE : 0)
+                | (product.updatedDate() != null ? HAS_UPDATED_DATE : 0)
+                | (product.version() != null ? HAS_VERSION : 0);
+        data.writeByte(ROW);
+        data.writeLong(product.productId());
+        data.writeByte(flags);
+        writeString(data, product.productIdentifier());
+        writeString(data, product.productName());
+        writeString(data, product.environmentsSupported());
+        writeString(data, product.ownerEmail());
+        if (product.expirationDate() != null) {
+            data.writeInt((int) product.expirationDate().toEpochDay());
+        }
+        if (product.createdDate() != null) {
+            writeDateTime(data, product.createdDate());
+        }
+        if (product.updatedDate() != null) {
+            writeDateTime(data, product.updatedDate());
+        }
+        if (product.version() != null) {
+            data.writeLong(product.version());
+        }
+        writeVarInt(data, product.allowedTenants().size());
+        for (String tenantId : product.allowedTenants()) {
+            writeString(data, tenantId);
+        }
+    }
+
+    private static ProductView readProduct(ByteBuffer buffer) {
+        long productId = buffer.getLong();
+        int flags = buffer.get();
+        String productIdentifier = readString(buffer);
+        String productName = readString(buffer);
+        String environmentsSupported = readString(buffer);
+        String ownerEmail = readString(buffer);
+        LocalDate expirationDate = (flags & HAS_EXPIRATION_DATE) != 0 ? LocalDate.ofEpochDay(buffer.getInt()) : null;
+        LocalDateTime createdDate = (flags & HAS_CREATED_DATE) != 0 ? readDateTime(buffer) : null;
+        LocalDateTime updatedDate = (flags & HAS_UPDATED_DATE) != 0 ? readDateTime(buffer) : null;
+        Long version = (flags & HAS_VERSION) != 0 ? buffer.getLong() : null;
+        int tenantCount = readVarInt(buffer);
+        Set<String> tenants = new HashSet<>(tenantCount * 2);
+        for (int i = 0; i < tenantCount; i++) {
+            tenants.add(readString(buffer));
+        }
+        return new ProductView(productId, productIdentifier, productName, expirationDate, (flags & EXPIRED) != 0,
+                environmentsSupported, ownerEmail, tenants, createdDate, updatedDate, version);
+    }
+
+    private static void writeDateTime(DataOutputStream data, LocalDateTime value) throws IOException {
+        data.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+        data.writeInt(value.getNano());
+    }
+
+    private static LocalDateTime readDateTime(ByteBuffer buffer) {
+        return LocalDateTime.ofEpochSecond(buffer.getLong(), buffer.getInt(), ZoneOffset.UTC);
+    }
+
+    private static void writeString(DataOutputStream data, String value) throws IOException {
+        if (value == null) {
+            writeVarInt(data, 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(data, bytes.length + 1);
+        data.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = readVarInt(buffer) - 1;
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeVarInt(DataOutputStream data, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            data.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data.writeByte(value);
+    }
+
+    private static int readVarInt(ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint in product snapshot");
+    }
+}
@@ -0,0 +1,129 @@
+package com.xpanse.cp.product.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-tenant token buckets, one for reads and one for writes, so a tenant flooding creates neither
+ * starves other tenants nor its own reads. Each bucket is a single AtomicLong holding the time at which
+ * it will be full again (the generic cell rate algorithm, equivalent to a token bucket), updated with
+ * compare-and-set: admitting a request takes no lock, and tenants only meet in the striped map
+ * holding their buckets. Idle tenants are dropped once their buckets have refilled.
+ */
+@Component
+public class TenantRateLimiter implements MeterBinder {
+
+    public enum Budget {
+        READ, WRITE
+    }
+
+    private final Map<Budget, Limit> limits = new EnumMap<>(Budget.class);
+    private final Map<Budget, LongAdder> rejections = new EnumMap<>(Budget.class);
+    private final Cache<String, TenantBuckets> tenants;
+    private final LongSupplier nanoClock;
+
+    @Autowired
+    public TenantRateLimiter(@Value("${product.rate-limit.read-rate:1000}") double readRate,
+                             @Value("${product.rate-limit.read-burst:2000}") int readBurst,
+                             @Value("${product.rate-limit.write-rate:100}") double writeRate,
+                             @Value("${product.rate-limit.write-burst:200}") int writeBurst,
+                             @Value("${product.rate-limit.max-tenants:100000}") long maxTenants) {
+        this(readRate, readBurst, writeRate, writeBurst, maxTenants, System::nanoTime);
+    }
+
+    TenantRateLimiter(double readRate, int readBurst, double writeRate, int writeBurst, long maxTenants,
+                      LongSupplier nanoClock) {
+        limits.put(Budget.READ, Limit.of(readRate, readBurst));
+        limits.put(Budget.WRITE, Limit.of(writeRate, writeBurst));
+        for (Budget budget : Budget.values()) {
+            rejections.put(budget, new LongAdder());
+        }
+        long refillNanos = limits.values().stream().mapToLong(Limit::toleranceNanos).max().orElseThrow();
+        this.tenants = Caffeine.newBuilder()
+                .maximumSize(maxTenants)
+                .expireAfterAccess(Duration.ofNanos(Math.max(refillNanos, TimeUnit.SECONDS.toNanos(1))))
+                .build();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Takes one token from the tenant's bucket of the given budget.
+     *
+     * @return 0 when the request is admitted, otherwise the nanoseconds until a token is available
+     */
+    public long tryAcquire(String tenantId, Budget budget) {
+        long now = nanoClock.getAsLong();
+        AtomicLong fullAt = tenants.get(tenantId, id -> new TenantBuckets(now)).bucket(budget);
+        Limit limit = limits.get(budget);
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + limit.intervalNanos();
+            long wait = next - now - limit.toleranceNanos();
+            if (wait > 0) {
+                rejections.get(budget).increment();
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * @return requests turned away so far for the given budget
+     */
+    public long rejections(Budget budget) {
+        return rejections.get(budget).sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Budget budget : Budget.values()) {
+            FunctionCounter.builder("product.rate-limit.rejections", rejections.get(budget), LongAdder::sum)
+                    .description("Requests rejected with 429 because the tenant exceeded its rate limit")
+                    .tag("budget", budget.name().toLowerCase())
+                    .register(registry);
+        }
+    }
+
+    /**
+     * @param intervalNanos  time to earn one token
+     * @param toleranceNanos time to fill the whole bucket, the burst a tenant can send at once
+     */
+    private record Limit(long intervalNanos, long toleranceNanos) {
+
+        static Limit of(double ratePerSecond, int burst) {
+            if (ratePerSecond <= 0 || burst < 1) {
+                throw new IllegalArgumentException("Rate limits need a positive rate and a burst of at least 1");
+            }
+            long intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond));
+            return new Limit(intervalNanos, intervalNanos * burst);
+        }
+    }
+
+    /** time at which each bucket is full again, starting full */
+    private record TenantBuckets(AtomicLong read, AtomicLong write) {
+
+        TenantBuckets(long now) {
+            this(new AtomicLong(now), new AtomicLong(now));
+        }
+
+        AtomicLong bucket(Budget budget) {
+            return budget == Budget.READ ? read : write;
+        }
+    }
+}
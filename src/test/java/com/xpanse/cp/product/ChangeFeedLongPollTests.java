@@ -0,0 +1,52 @@
+package com.xpanse.cp.product;
+
+import com.xpanse.cp.product.model.ProductChangePage;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Long-polls through the real container, which enforces the async request timeout that MockMvc does not.
+ * Both timeouts are scaled down from the production 30s and 35s, keeping the async timeout the larger.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"product.changes.max-wait=1s", "spring.mvc.async.request-timeout=3s"})
+class ChangeFeedLongPollTests {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Value("${product.changes.max-wait}")
+    private Duration maxWait;
+
+    @Value("${spring.mvc.async.request-timeout}")
+    private Duration asyncRequestTimeout;
+
+    @Test
+    void asyncRequestTimeout_LeavesRoomAfterMaximumWait() {
+        // a poll waiting the whole max-wait still has to be answered before the container times it out
+        assertTrue(asyncRequestTimeout.compareTo(maxWait) > 0,
+                () -> "spring.mvc.async.request-timeout " + asyncRequestTimeout + " must exceed max-wait " + maxWait);
+    }
+
+    @Test
+    void getChanges_WithMaximumWaitAndNothingNew_ReturnsEmptyPage() {
+        // Act
+        ResponseEntity<ProductChangePage> response = restTemplate.getForEntity(
+                "/changes?since={since}&waitSeconds={waitSeconds}", ProductChangePage.class,
+                Long.MAX_VALUE - 1, maxWait.toSeconds());
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(response.getBody().changes().isEmpty());
+        assertEquals(Long.MAX_VALUE - 1, response.getBody().nextSince());
+    }
+}
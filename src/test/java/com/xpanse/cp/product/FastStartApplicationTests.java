@@ -0,0 +1,52 @@
+package com.xpanse.cp.product;
+
+import com.xpanse.cp.product.controller.ProductManagementController;
+import com.xpanse.cp.product.model.ProductDetails;
+import com.xpanse.cp.product.service.ProductManagementService;
+import com.xpanse.cp.product.service.ProductSnapshotService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("fast-start")
+class FastStartApplicationTests {
+
+    @Autowired
+    private ConfigurableListableBeanFactory beanFactory;
+
+    @Autowired
+    private ProductManagementService productManagementService;
+
+    @Test
+    void contextLoads_WithRequestPathEagerAndTheRestLazy() {
+        assertFalse(beanFactory.getBeanDefinition(beanName(ProductManagementController.class)).isLazyInit());
+        assertTrue(beanFactory.getBeanDefinition(beanName(ProductSnapshotService.class)).isLazyInit());
+    }
+
+    @Test
+    void createProduct_IsReadableThroughDeferredRepositories() {
+        // Arrange
+        ProductDetails details = new ProductDetails();
+        details.setProductIdentifier("FAST-1");
+        details.setProductName("Fast Start");
+        details.setEnvironmentsSupported(ProductDetails.EnvironmentsSupported.PRODUCTION);
+        details.setOwnerEmail("owner@xpanse.com");
+        details.setAllowedTenant("tenant-a");
+
+        // Act
+        productManagementService.createProduct(details);
+
+        // Assert
+        Long productId = productManagementService.getByProductIdentifier("FAST-1").productId();
+        assertEquals("Fast Start", productManagementService.getByProductId(productId).productName());
+    }
+
+    private String beanName(Class<?> type) {
+        return beanFactory.getBeanNamesForType(type, true, false)[0];
+    }
+}
@@ -0,0 +1,61 @@
+package com.xpanse.cp.product;
+
+import com.xpanse.cp.product.model.ProductChange;
+import com.xpanse.cp.product.model.ProductDetails;
+import com.xpanse.cp.product.repository.InMemoryProductStore;
+import com.xpanse.cp.product.repository.ProductStore;
+import com.xpanse.cp.product.service.ProductChangeFeed;
+import com.xpanse.cp.product.service.ProductManagementService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("memory")
+class InMemoryStoreApplicationTests {
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private ProductStore productStore;
+
+    @Autowired
+    private ProductManagementService productManagementService;
+
+    @Autowired
+    private ProductChangeFeed productChangeFeed;
+
+    @Test
+    void contextLoadsWithoutDataSource() {
+        assertInstanceOf(InMemoryProductStore.class, productStore);
+        assertEquals(0, applicationContext.getBeanNamesForType(DataSource.class).length);
+    }
+
+    @Test
+    void createProduct_IsReadableAndFeedsTheChangeLog() {
+        // Arrange
+        ProductDetails details = new ProductDetails();
+        details.setProductIdentifier("MEM-1");
+        details.setProductName("In Memory");
+        details.setEnvironmentsSupported(ProductDetails.EnvironmentsSupported.PRODUCTION);
+        details.setOwnerEmail("owner@xpanse.com");
+        details.setAllowedTenant("tenant-a");
+
+        // Act
+        productManagementService.createProduct(details);
+
+        // Assert
+        Long productId = productManagementService.getByProductIdentifier("MEM-1").productId();
+        assertEquals("In Memory", productManagementService.getByProductId(productId).productName());
+        List<ProductChange> changes = productChangeFeed.read(0, 10).changes();
+        assertEquals(List.of(productId), changes.stream().map(ProductChange::productId).toList());
+    }
+}
@@ -0,0 +1,137 @@
+package com.xpanse.cp.product.cache;
+
+import com.xpanse.cp.product.exception.InvalidRequestException;
+import com.xpanse.cp.product.exception.ProductConflictException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyStoreTest {
+
+    private IdempotencyStore idempotencyStore;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyStore = new IdempotencyStore(100, Duration.ofMinutes(1), Duration.ofSeconds(5));
+    }
+
+    @Test
+    void execute_RepeatedKey_ReturnsFirstResponseWithoutRunningAgain() {
+        // Arrange
+        AtomicInteger runs = new AtomicInteger();
+
+        // Act
+        String first = idempotencyStore.execute("key-1", "request", () -> "response-" + runs.incrementAndGet());
+        String second = idempotencyStore.execute("key-1", "request", () -> "response-" + runs.incrementAndGet());
+
+        // Assert
+        assertEquals("response-1", first);
+        assertEquals("response-1", second);
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void execute_ConcurrentRequestWithSameKey_WaitsForFirst() throws Exception {
+        // Arrange
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // Act
+        Future<String> first = executor.submit(() -> idempotencyStore.execute("key-1", "request", () -> {
+            started.countDown();
+            await(release);
+            return "response-" + runs.incrementAndGet();
+        }));
+        started.await(5, TimeUnit.SECONDS);
+        Future<String> second = executor.submit(() -> idempotencyStore.execute("key-1", "request",
+                () -> "response-" + runs.incrementAndGet()));
+        Thread.sleep(50);
+        assertFalse(second.isDone());
+        release.countDown();
+
+        // Assert
+        assertEquals("response-1", first.get(5, TimeUnit.SECONDS));
+        assertEquals("response-1", second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, runs.get());
+        executor.shutdownNow();
+    }
+
+    @Test
+    void execute_AfterFailure_RunsAgain() {
+        // Arrange
+        assertThrows(IllegalStateException.class, () -> idempotencyStore.execute("key-1", "request", () -> {
+            throw new IllegalStateException("down");
+        }));
+
+        // Act
+        String response = idempotencyStore.execute("key-1", "request", () -> "response");
+
+        // Assert
+        assertEquals("response", response);
+    }
+
+    @Test
+    void execute_AfterError_RemovesEntrySoRetryRuns() {
+        // Arrange
+        assertThrows(StackOverflowError.class, () -> idempotencyStore.execute("key-1", "request", () -> {
+            throw new StackOverflowError();
+        }));
+
+        // Act
+        String response = idempotencyStore.execute("key-1", "request", () -> "response");
+
+        // Assert
+        assertEquals("response", response);
+    }
+
+    @Test
+    void execute_FirstRequestStillRunningAfterWaitTimeout_ThrowsConflict() throws Exception {
+        // Arrange
+        idempotencyStore = new IdempotencyStore(100, Duration.ofMinutes(1), Duration.ofMillis(50));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<String> first = executor.submit(() -> idempotencyStore.execute("key-1", "request", () -> {
+            started.countDown();
+            await(release);
+            return "response";
+        }));
+        started.await(5, TimeUnit.SECONDS);
+
+        // Act & Assert
+        assertThrows(ProductConflictException.class,
+                () -> idempotencyStore.execute("key-1", "request", () -> "other response"));
+        release.countDown();
+        assertEquals("response", first.get(5, TimeUnit.SECONDS));
+        executor.shutdownNow();
+    }
+
+    @Test
+    void execute_KeyReusedForDifferentRequest_ThrowsInvalidRequestException() {
+        // Arrange
+        idempotencyStore.execute("key-1", "request", () -> "response");
+
+        // Act & Assert
+        assertThrows(InvalidRequestException.class,
+                () -> idempotencyStore.execute("key-1", "other request", () -> "other response"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.xpanse.cp.product.cache;
+
+import com.xpanse.cp.product.entity.Product;
+import com.xpanse.cp.product.event.ProductChangedEvent;
+import com.xpanse.cp.product.model.ProductCacheStats;
+import com.xpanse.cp.product.model.ProductView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductCacheTest {
+
+    private ProductCache productCache;
+
+    @BeforeEach
+    void setUp() {
+        productCache = new ProductCache(100, Duration.ofMinutes(1), Duration.ofSeconds(5));
+    }
+
+    @Test
+    void get_ConcurrentMissesOnSameId_LoadOnce() throws Exception {
+        // Arrange
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        Function<Long, ProductView> slowLoader = id -> {
+            loads.incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return ProductView.of(createProduct(id));
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // Act
+        try {
+            Future<?>[] futures = new Future<?>[8];
+            for (int i = 0; i < futures.length; i++) {
+                futures[i] = executor.submit(() -> productCache.get(1L, slowLoader));
+            }
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<?> future : futures) {
+                assertNotNull(future.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Assert
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void onProductChanged_InvalidatesCachedProduct() {
+        // Arrange
+        AtomicInteger loads = new AtomicInteger();
+        Function<Long, ProductView> loader = id -> {
+            loads.incrementAndGet();
+            return ProductView.of(createProduct(id));
+        };
+        productCache.get(1L, loader);
+
+        // Act
+        productCache.onProductChanged(new ProductChangedEvent(createProduct(1L), ProductChangedEvent.ChangeType.CREATED));
+        productCache.get(1L, loader);
+
+        // Assert
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void getAll_InvalidatedDuringLoad_DoesNotCacheStaleView() {
+        // Arrange
+        ProductView stale = ProductView.of(createProduct(1L));
+
+        // Act
+        Map<Long, ProductView> products = productCache.getAll(List.of(1L), missing -> {
+            // the change commits and invalidates while the view read before it is still on its way
+            productCache.onProductChanged(new ProductChangedEvent(createProduct(1L),
+                    ProductChangedEvent.ChangeType.UPDATED));
+            return Map.of(1L, stale);
+        });
+
+        // Assert
+        assertSame(stale, products.get(1L));
+        assertNull(productCache.getIfPresent(1L));
+    }
+
+    @Test
+    void getAll_WithNewerViewCachedMeanwhile_KeepsNewerView() {
+        // Arrange
+        Product product = createProduct(1L);
+        product.setVersion(2L);
+        ProductView newer = ProductView.of(product);
+        product.setVersion(1L);
+        ProductView older = ProductView.of(product);
+
+        // Act
+        productCache.getAll(List.of(1L), missing -> {
+            productCache.put(newer);
+            return Map.of(1L, older);
+        });
+
+        // Assert
+        assertSame(newer, productCache.getIfPresent(1L));
+    }
+
+    @Test
+    void getAll_WithoutInvalidation_CachesLoadedViews() {
+        // Act
+        productCache.getAll(List.of(1L, 2L), missing -> Map.of(1L, ProductView.of(createProduct(1L))));
+
+        // Assert
+        assertNotNull(productCache.getIfPresent(1L));
+        assertNull(productCache.getIfPresent(2L));
+    }
+
+    @Test
+    void markMissing_AfterCreateCommittedDuringLookup_IsIgnored() {
+        // Arrange
+        long generation = productCache.generation();
+        productCache.get(1L, id -> null);
+        productCache.onProductChanged(new ProductChangedEvent(createProduct(1L), ProductChangedEvent.ChangeType.CREATED));
+
+        // Act
+        productCache.markMissing(1L, generation);
+
+        // Assert
+        assertFalse(productCache.isKnownMissing(1L));
+    }
+
+    @Test
+    void markMissing_WithoutChangeDuringLookup_RemembersId() {
+        // Arrange
+        long generation = productCache.generation();
+        productCache.get(1L, id -> null);
+
+        // Act
+        productCache.markMissing(1L, generation);
+
+        // Assert
+        assertTrue(productCache.isKnownMissing(1L));
+    }
+
+    @Test
+    void stats_CountsHitsAndMisses() {
+        // Arrange
+        productCache.get(1L, id -> ProductView.of(createProduct(id)));
+
+        // Act
+        productCache.get(1L, id -> ProductView.of(createProduct(id)));
+        ProductCacheStats stats = productCache.stats();
+
+        // Assert
+        assertEquals(1, stats.hitCount());
+        assertEquals(1, stats.missCount());
+        assertEquals(1, stats.loadSuccessCount());
+        assertEquals(1, stats.estimatedSize());
+    }
+
+    private Product createProduct(Long productId) {
+        Product product = new Product();
+        product.setProductId(productId);
+        product.setProductName("Test Product");
+        product.setProductIdentifier("TEST-" + productId);
+        return product;
+    }
+}
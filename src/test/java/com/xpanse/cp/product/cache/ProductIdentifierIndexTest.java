@@ -0,0 +1,61 @@
+package com.xpanse.cp.product.cache;
+
+import com.xpanse.cp.product.entity.Product;
+import com.xpanse.cp.product.event.ProductChangedEvent;
+import com.xpanse.cp.product.repository.ProductManagementRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductIdentifierIndexTest {
+
+    @Mock
+    private ProductManagementRepository productManagementRepository;
+
+    private ProductIdentifierIndex productIdentifierIndex;
+
+    @BeforeEach
+    void setUp() {
+        productIdentifierIndex = new ProductIdentifierIndex(productManagementRepository);
+        productIdentifierIndex.onProductChanged(event("OLD", "OLD", 0L, ProductChangedEvent.ChangeType.CREATED));
+    }
+
+    @Test
+    void onProductChanged_Rename_MovesIdentifier() {
+        // Act
+        productIdentifierIndex.onProductChanged(event("NEW", "OLD", 1L, ProductChangedEvent.ChangeType.UPDATED));
+
+        // Assert
+        assertFalse(productIdentifierIndex.contains("OLD"));
+        assertEquals(1L, productIdentifierIndex.getProductId("NEW"));
+    }
+
+    @Test
+    void onProductChanged_LateEventOfOlderVersion_DoesNotBringBackReleasedIdentifier() {
+        // Arrange
+        productIdentifierIndex.onProductChanged(event("MID", "OLD", 1L, ProductChangedEvent.ChangeType.UPDATED));
+        productIdentifierIndex.onProductChanged(event("NEW", "MID", 2L, ProductChangedEvent.ChangeType.UPDATED));
+
+        // Act
+        productIdentifierIndex.onProductChanged(event("MID", "OLD", 1L, ProductChangedEvent.ChangeType.UPDATED));
+
+        // Assert
+        assertFalse(productIdentifierIndex.contains("MID"));
+        assertFalse(productIdentifierIndex.contains("OLD"));
+        assertEquals(1L, productIdentifierIndex.getProductId("NEW"));
+    }
+
+    private ProductChangedEvent event(String identifier, String previousIdentifier, Long version,
+                                      ProductChangedEvent.ChangeType changeType) {
+        Product product = new Product();
+        product.setProductId(1L);
+        product.setProductIdentifier(identifier);
+        product.setVersion(version);
+        return new ProductChangedEvent(product, changeType, previousIdentifier);
+    }
+}
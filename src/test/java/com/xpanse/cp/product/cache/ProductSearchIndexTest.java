@@ -0,0 +1,90 @@
+package com.xpanse.cp.product.cache;
+
+import com.xpanse.cp.product.entity.Product;
+import com.xpanse.cp.product.event.ProductChangedEvent;
+import com.xpanse.cp.product.model.ProductSearchStats;
+import com.xpanse.cp.product.repository.ProductManagementRepository;
+import com.xpanse.cp.product.repository.ProductSearchKey;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductSearchIndexTest {
+
+    @Mock
+    private ProductManagementRepository productManagementRepository;
+
+    private ProductSearchIndex productSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        productSearchIndex = new ProductSearchIndex(productManagementRepository);
+        productSearchIndex.put(1L, "STORAGE-01", "Cloud Storage", false);
+        productSearchIndex.put(2L, "NET-02", "Managed Cloud Network", false);
+        productSearchIndex.put(3L, "CMP-03", "Compute Engine", false);
+        productSearchIndex.put(4L, "CLD-04", "Backup", true);
+    }
+
+    @Test
+    void search_ByPrefix_MatchesNamesIdentifiersAndWords() {
+        // Act & Assert
+        assertEquals(List.of(4L, 1L, 2L), productSearchIndex.search("cl", 10, false));
+        assertEquals(List.of(2L), productSearchIndex.search("NET", 10, false));
+        assertEquals(List.of(3L), productSearchIndex.search("compute eng", 10, false));
+    }
+
+    @Test
+    void search_BySubstring_FromThreeCharactersAndVerified() {
+        // Act & Assert
+        assertEquals(List.of(), productSearchIndex.search("or", 10, false));
+        assertEquals(List.of(1L), productSearchIndex.search("torag", 10, false));
+        assertEquals(List.of(2L), productSearchIndex.search("ged cloud", 10, false));
+        assertEquals(List.of(), productSearchIndex.search("oud stor net", 10, false));
+    }
+
+    @Test
+    void search_StopsAtLimitAndSkipsExpiredWhenAsked() {
+        // Act & Assert
+        assertEquals(List.of(4L), productSearchIndex.search("c", 1, false));
+        assertEquals(List.of(1L, 2L), productSearchIndex.search("cl", 10, true));
+    }
+
+    @Test
+    void onProductChanged_ReindexesRenamedProductAndTracksExpiry() {
+        // Arrange
+        Product product = Product.builder().productId(3L).productIdentifier("CMP-03").productName("Batch Engine").build();
+
+        // Act
+        productSearchIndex.onProductChanged(new ProductChangedEvent(product, ProductChangedEvent.ChangeType.CREATED));
+        productSearchIndex.onProductChanged(new ProductChangedEvent(product, ProductChangedEvent.ChangeType.EXPIRED));
+
+        // Assert
+        assertEquals(List.of(), productSearchIndex.search("compute", 10, false));
+        assertEquals(List.of(3L), productSearchIndex.search("batch", 10, false));
+        assertEquals(List.of(), productSearchIndex.search("batch", 10, true));
+    }
+
+    @Test
+    void stats_ReportsEstimatedMemoryPerProduct() {
+        // Arrange
+        when(productManagementRepository.findAllSearchKeys())
+                .thenReturn(List.of(new ProductSearchKey(5L, "DB-05", "Database", false)));
+        productSearchIndex.warmUp();
+
+        // Act
+        ProductSearchStats stats = productSearchIndex.stats();
+
+        // Assert
+        assertEquals(5, stats.products());
+        assertTrue(stats.trigrams() > 0 && stats.postings() >= stats.trigrams());
+        assertEquals(stats.estimatedBytes() / 5, stats.estimatedBytesPerProduct());
+    }
+}
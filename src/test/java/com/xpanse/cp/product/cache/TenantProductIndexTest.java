@@ -0,0 +1,68 @@
+package com.xpanse.cp.product.cache;
+
+import com.xpanse.cp.product.entity.Product;
+import com.xpanse.cp.product.event.ProductChangedEvent;
+import com.xpanse.cp.product.repository.ProductManagementRepository;
+import com.xpanse.cp.product.repository.TenantProductKey;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TenantProductIndexTest {
+
+    @Mock
+    private ProductManagementRepository productManagementRepository;
+
+    private TenantProductIndex tenantProductIndex;
+
+    @BeforeEach
+    void setUp() {
+        when(productManagementRepository.findAllTenantProductKeys())
+                .thenReturn(List.of(new TenantProductKey("tenant-a", 1L)));
+        tenantProductIndex = new TenantProductIndex(productManagementRepository);
+        tenantProductIndex.warmUp();
+    }
+
+    @Test
+    void onProductChanged_WithTenantRemoved_DropsPosting() {
+        // Act
+        tenantProductIndex.onProductChanged(updatedEvent(1L, 1L, "tenant-b"));
+
+        // Assert
+        assertEquals(List.of(), tenantProductIndex.getProductIds("tenant-a", 0L, 10));
+        assertEquals(List.of(1L), tenantProductIndex.getProductIds("tenant-b", 0L, 10));
+    }
+
+    @Test
+    void onProductChanged_OlderVersionAfterNewer_IsIgnored() {
+        // Arrange
+        tenantProductIndex.onProductChanged(updatedEvent(1L, 2L, "tenant-b"));
+
+        // Act
+        tenantProductIndex.onProductChanged(updatedEvent(1L, 1L, "tenant-a", "tenant-c"));
+
+        // Assert
+        assertEquals(List.of(), tenantProductIndex.getProductIds("tenant-a", 0L, 10));
+        assertEquals(List.of(), tenantProductIndex.getProductIds("tenant-c", 0L, 10));
+        assertEquals(List.of(1L), tenantProductIndex.getProductIds("tenant-b", 0L, 10));
+    }
+
+    private ProductChangedEvent updatedEvent(Long productId, Long version, String... tenantIds) {
+        Product product = new Product();
+        product.setProductId(productId);
+        product.setProductIdentifier("TEST-" + productId);
+        product.setVersion(version);
+        product.setAllowedTenants(new HashSet<>(Set.of(tenantIds)));
+        return new ProductChangedEvent(product, ProductChangedEvent.ChangeType.UPDATED);
+    }
+}
@@ -1,10 +1,26 @@
 package com.xpanse.cp.product.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.xpanse.cp.product.cache.IdempotencyStore;
+import com.xpanse.cp.product.cache.ProductCache;
+import com.xpanse.cp.product.config.TenantRateLimitFilter;
 import com.xpanse.cp.product.entity.APIResponse;
 import com.xpanse.cp.product.entity.Product;
+import com.xpanse.cp.product.model.BatchCreateResponse;
+import com.xpanse.cp.product.model.BatchCreateResult;
+import com.xpanse.cp.product.model.CreateOperation;
 import com.xpanse.cp.product.model.ProductDetails;
+import com.xpanse.cp.product.model.ProductMultiGetResponse;
+import com.xpanse.cp.product.model.ProductPage;
+import com.xpanse.cp.product.model.ProductVersion;
+import com.xpanse.cp.product.model.ProductView;
+import com.xpanse.cp.product.service.ProductCreateQueue;
+import com.xpanse.cp.product.service.ProductExportService;
 import com.xpanse.cp.product.service.ProductManagementService;
+import com.xpanse.cp.product.service.TenantRateLimiter;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,12 +29,23 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -27,6 +54,9 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @EnableWebMvc
 class ProductManagementControllerTest {
 
+    private static final MediaType CBOR = MediaType.APPLICATION_CBOR;
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
     private MockMvc mockMvc;
 
     private static final Logger logger = LogManager.getLogger(ProductManagementControllerTest.class);
@@ -34,6 +64,18 @@ class ProductManagementControllerTest {
     @Mock
     private ProductManagementService productManagementService;
 
+    @Mock
+    private ProductExportService productExportService;
+
+    @Mock
+    private ProductCache productCache;
+
+    @Mock
+    private ProductCreateQueue productCreateQueue;
+
+    @Mock
+    private IdempotencyStore idempotencyStore;
+
     @InjectMocks
     private ProductManagementController productManagementController;
 
@@ -68,11 +110,100 @@ class ProductManagementControllerTest {
         verify(productManagementService, times(1)).createProduct(any(ProductDetails.class));
     }
 
+    @Test
+    void createProduct_WithSmileBody_AnswersInSmile() throws Exception {
+        // Arrange
+        ProductDetails request = createSampleProductDetails();
+        when(productManagementService.createProduct(request)).thenReturn(createSuccessAPIResponse());
+
+        // Act
+        MvcResult result = mockMvc.perform(post("/")
+                        .contentType(SMILE)
+                        .accept(SMILE)
+                        .content(new SmileMapper().writeValueAsBytes(request)))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(SMILE))
+                .andReturn();
+
+        // Assert
+        APIResponse response = new SmileMapper().readValue(result.getResponse().getContentAsByteArray(), APIResponse.class);
+        assertEquals("Success", response.getStatus());
+    }
+
+    @Test
+    void createProduct_WithIdempotencyKey_GoesThroughIdempotencyStore() throws Exception {
+        // Arrange
+        ProductDetails request = createSampleProductDetails();
+        when(idempotencyStore.execute(eq("retry-1"), eq(request), any()))
+                .thenReturn(createSuccessAPIResponse());
+
+        // Act & Assert
+        mockMvc.perform(post("/")
+                        .header("Idempotency-Key", "retry-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.status").value("Success"));
+
+        verify(productManagementService, never()).createProduct(any());
+    }
+
+    @Test
+    void createProductAsync_WithValidRequest_ReturnsAcceptedWithOperation() throws Exception {
+        // Arrange
+        ProductDetails request = createSampleProductDetails();
+        when(productCreateQueue.submit(any(ProductDetails.class)))
+                .thenReturn(CreateOperation.pending("op-1", "PROD-001"));
+
+        // Act & Assert
+        mockMvc.perform(post("/async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/operations/op-1"))
+                .andExpect(jsonPath("$.status").value("PENDING"));
+    }
+
+    @Test
+    void getOperation_WithKnownId_ReturnsOperation() throws Exception {
+        // Arrange
+        when(productCreateQueue.getOperation("op-1"))
+                .thenReturn(new CreateOperation("op-1", "PROD-001", 7L, CreateOperation.Status.CREATED, "done"));
+
+        // Act & Assert
+        mockMvc.perform(get("/operations/{operationId}", "op-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("CREATED"))
+                .andExpect(jsonPath("$.productId").value(7));
+    }
+
+    @Test
+    void createProducts_WithValidRequest_ReturnsResultPerItem() throws Exception {
+        // Arrange
+        ProductDetails request = createSampleProductDetails();
+        BatchCreateResponse expectedResponse = new BatchCreateResponse(1, 0, List.of(new BatchCreateResult(0,
+                "PROD-001", 1L, BatchCreateResult.Status.CREATED, "Product details saved successfully")));
+
+        when(productManagementService.createProducts(anyList()))
+                .thenReturn(expectedResponse);
+
+        // Act & Assert
+        mockMvc.perform(post("/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(request))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.results[0].status").value("CREATED"))
+                .andExpect(jsonPath("$.results[0].productId").value(1));
+
+        verify(productManagementService, times(1)).createProducts(anyList());
+    }
+
     @Test
     void getProduct_WithValidId_ReturnsProduct() throws Exception {
         // Arrange
         Long productId = 1L;
-        Product expectedProduct = createSampleProduct();
+        ProductView expectedProduct = createSampleProduct();
 
         when(productManagementService.getByProductId(productId))
                 .thenReturn(expectedProduct);
@@ -89,6 +220,249 @@ class ProductManagementControllerTest {
         verify(productManagementService, times(1)).getByProductId(productId);
     }
 
+    @Test
+    void getProduct_WithoutConditionalHeaders_LoadsOnceWithoutVersionLookup() throws Exception {
+        // Arrange
+        Product product = createSampleEntity();
+        product.setVersion(4L);
+        product.setCreatedDate(LocalDateTime.of(2024, 1, 1, 10, 0));
+        when(productManagementService.getByProductId(1L)).thenReturn(ProductView.of(product));
+
+        // Act & Assert
+        mockMvc.perform(get("/{productId}", 1L))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "W/\"4\""))
+                .andExpect(header().exists("Last-Modified"));
+
+        verify(productManagementService, never()).getProductVersion(any());
+    }
+
+    @Test
+    void getProduct_WithAcceptCbor_ReturnsCborVaryingByAccept() throws Exception {
+        // Arrange
+        when(productManagementService.getByProductId(1L)).thenReturn(createSampleProduct());
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/{productId}", 1L).accept(CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(CBOR))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT))
+                .andReturn();
+
+        // Assert
+        JsonNode product = new CBORMapper().readTree(result.getResponse().getContentAsByteArray());
+        assertEquals("PROD-001", product.get("productIdentifier").asText());
+    }
+
+    @Test
+    void createProduct_OverTenantWriteLimit_Returns429WithoutCallingService() throws Exception {
+        // Arrange: one write per second with a burst of one
+        TenantRateLimiter tenantRateLimiter = new TenantRateLimiter(1000, 1000, 1, 1, 100);
+        MockMvc limitedMockMvc = MockMvcBuilders.standaloneSetup(productManagementController)
+                .addFilters(new TenantRateLimitFilter(tenantRateLimiter, Jackson2ObjectMapperBuilder.json().build(),
+                        "X-Tenant-Id"))
+                .build();
+        when(productManagementService.createProduct(any(ProductDetails.class))).thenReturn(createSuccessAPIResponse());
+        when(productManagementService.getByProductId(1L)).thenReturn(createSampleProduct());
+        String body = objectMapper.writeValueAsString(createSampleProductDetails());
+
+        // Act & Assert
+        limitedMockMvc.perform(post("/").header("X-Tenant-Id", "tenant1")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated());
+        limitedMockMvc.perform(post("/").header("X-Tenant-Id", "tenant1")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                .andExpect(jsonPath("$.statusCode").value(429));
+        limitedMockMvc.perform(get("/{productId}", 1L).header("X-Tenant-Id", "tenant1"))
+                .andExpect(status().isOk());
+        limitedMockMvc.perform(post("/").header("X-Tenant-Id", "tenant2")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated());
+        verify(productManagementService, times(2)).createProduct(any(ProductDetails.class));
+    }
+
+    @Test
+    void getProducts_WithIds_ReturnsFoundAndNotFound() throws Exception {
+        // Arrange
+        when(productManagementService.getByProductIds(List.of(1L, 2L)))
+                .thenReturn(new ProductMultiGetResponse(List.of(createSampleProduct()), List.of(2L)));
+
+        // Act & Assert
+        mockMvc.perform(get("/").param("ids", "1,2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].productIdentifier").value("PROD-001"))
+                .andExpect(jsonPath("$.notFound[0]").value(2));
+
+        verify(productManagementService, never()).listProducts(any(), anyInt(), anyBoolean());
+    }
+
+    @Test
+    void getProductsBatch_WithIdsInBody_ReturnsFoundAndNotFound() throws Exception {
+        // Arrange
+        when(productManagementService.getByProductIds(List.of(1L, 2L)))
+                .thenReturn(new ProductMultiGetResponse(List.of(createSampleProduct()), List.of(2L)));
+
+        // Act & Assert
+        mockMvc.perform(post("/batch-get")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1,2]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.notFound[0]").value(2));
+    }
+
+    @Test
+    void getProduct_WithMatchingETag_ReturnsNotModifiedWithoutLoading() throws Exception {
+        // Arrange
+        Long productId = 1L;
+        when(productManagementService.getProductVersion(productId))
+                .thenReturn(new ProductVersion(3L, LocalDateTime.of(2024, 1, 1, 10, 0)));
+
+        // Act & Assert
+        mockMvc.perform(get("/{productId}", productId)
+                        .header("If-None-Match", "W/\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "W/\"3\""))
+                .andExpect(content().string(""));
+
+        verify(productManagementService, never()).getByProductId(any());
+    }
+
+    @Test
+    void getProduct_WithStaleETag_ReturnsProductAndCurrentETag() throws Exception {
+        // Arrange
+        Long productId = 1L;
+        Product product = createSampleEntity();
+        product.setVersion(4L);
+        product.setCreatedDate(LocalDateTime.of(2024, 1, 1, 10, 0));
+        ProductView view = ProductView.of(product);
+        when(productManagementService.getProductVersion(productId))
+                .thenReturn(ProductVersion.of(view));
+        when(productManagementService.getByProductId(productId))
+                .thenReturn(view);
+
+        // Act & Assert
+        mockMvc.perform(get("/{productId}", productId)
+                        .header("If-None-Match", "\"3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "W/\"4\""))
+                .andExpect(header().exists("Last-Modified"))
+                .andExpect(jsonPath("$.version").value(4));
+    }
+
+    @Test
+    void updateProduct_ReturnsProductAndNewETag() throws Exception {
+        // Arrange
+        ProductDetails request = createSampleProductDetails();
+        Product product = createSampleEntity();
+        product.setVersion(4L);
+        product.setCreatedDate(LocalDateTime.of(2024, 1, 1, 10, 0));
+        when(productManagementService.updateProduct(eq(1L), any(ProductDetails.class), eq(null)))
+                .thenReturn(ProductView.of(product));
+
+        // Act & Assert
+        mockMvc.perform(put("/{productId}", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "W/\"4\""))
+                .andExpect(jsonPath("$.version").value(4));
+    }
+
+    @Test
+    void patchProduct_WithIfMatch_PassesExpectedVersion() throws Exception {
+        // Arrange
+        ProductDetails request = new ProductDetails();
+        request.setProductName("Renamed");
+        Product product = createSampleEntity();
+        product.setVersion(4L);
+        product.setCreatedDate(LocalDateTime.of(2024, 1, 1, 10, 0));
+        when(productManagementService.patchProduct(eq(1L), any(ProductDetails.class), eq(3L)))
+                .thenReturn(ProductView.of(product));
+
+        // Act & Assert
+        mockMvc.perform(patch("/{productId}", 1L)
+                        .header("If-Match", "W/\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "W/\"4\""));
+
+        verify(productManagementService).patchProduct(eq(1L), any(ProductDetails.class), eq(3L));
+    }
+
+    @Test
+    void getProductByIdentifier_WithValidIdentifier_ReturnsProduct() throws Exception {
+        // Arrange
+        ProductView expectedProduct = createSampleProduct();
+
+        when(productManagementService.getByProductIdentifier("PROD-001"))
+                .thenReturn(expectedProduct);
+
+        // Act & Assert
+        mockMvc.perform(get("/identifier/{productIdentifier}", "PROD-001")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.productId").value(1))
+                .andExpect(jsonPath("$.productIdentifier").value("PROD-001"));
+
+        verify(productManagementService, times(1)).getByProductIdentifier("PROD-001");
+    }
+
+    @Test
+    void listProducts_WithCursor_ReturnsPage() throws Exception {
+        // Arrange
+        when(productManagementService.listProducts(5L, 1, true))
+                .thenReturn(new ProductPage(List.of(createSampleProduct()), 1L));
+
+        // Act & Assert
+        mockMvc.perform(get("/")
+                        .param("after", "5")
+                        .param("limit", "1")
+                        .param("excludeExpired", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].productIdentifier").value("PROD-001"))
+                .andExpect(jsonPath("$.nextCursor").value(1));
+
+        verify(productManagementService, times(1)).listProducts(5L, 1, true);
+    }
+
+    @Test
+    void listTenantProducts_ReturnsPage() throws Exception {
+        // Arrange
+        when(productManagementService.listProductsByTenant("tenant1", null, 100, false))
+                .thenReturn(new ProductPage(List.of(createSampleProduct()), null));
+
+        // Act & Assert
+        mockMvc.perform(get("/tenants/{tenantId}/products", "tenant1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].productId").value(1));
+
+        verify(productManagementService, times(1)).listProductsByTenant("tenant1", null, 100, false);
+    }
+
+    @Test
+    void exportProducts_StreamsNdjson() throws Exception {
+        // Arrange
+        when(productExportService.exportProducts(any())).thenAnswer(invocation -> {
+            invocation.getArgument(0, java.io.OutputStream.class).write("{\"productId\":1}\n".getBytes());
+            return 1L;
+        });
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string("{\"productId\":1}\n"));
+    }
+
     @Test
     void getProduct_WithInvalidId_ReturnsNotFound() throws Exception {
         // Arrange
@@ -147,7 +521,11 @@ class ProductManagementControllerTest {
         return details;
     }
 
-    private Product createSampleProduct() {
+    private ProductView createSampleProduct() {
+        return ProductView.of(createSampleEntity());
+    }
+
+    private Product createSampleEntity() {
         Product product = new Product();
         product.setProductId(1L);
         product.setProductName("Test Product");
@@ -0,0 +1,71 @@
+package com.xpanse.cp.product.repository;
+
+import com.xpanse.cp.product.config.InMemoryStoreConfig;
+import com.xpanse.cp.product.entity.Product;
+import com.xpanse.cp.product.model.ProductView;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryProductStoreTest extends ProductStoreContractTest {
+
+    private final InMemoryProductStore productStore = new InMemoryProductStore();
+
+    @Override
+    protected ProductStore productStore() {
+        return productStore;
+    }
+
+    @Override
+    protected <T> T inTransaction(Supplier<T> action) {
+        return new TransactionTemplate(new InMemoryStoreConfig().transactionManager())
+                .execute(status -> action.get());
+    }
+
+    @Test
+    void saveAll_FailingWithoutTransaction_RevertsEarlierItems() {
+        // Act
+        assertThrows(DuplicateKeyException.class, () -> productStore.saveAll(List.of(
+                Product.builder().productIdentifier("P-1").build(),
+                Product.builder().productIdentifier("P-1").build())));
+
+        // Assert
+        assertEquals(0, productStore.count());
+        assertTrue(productStore.findProductIdByProductIdentifier("P-1").isEmpty());
+    }
+
+    @Test
+    void loadAll_KeepsIdsAndMoveIdsPastSkipsThem() {
+        // Arrange
+        productStore.loadAll(List.of(new ProductView(40L, "P-40", "Product 40", null, false, null, null,
+                Set.of("tenant-a"), null, null, 3L)));
+
+        // Act
+        productStore.moveIdsPast(40L);
+        Product saved = productStore.save(Product.builder().productIdentifier("P-41").build());
+
+        // Assert
+        assertEquals(41L, saved.getProductId());
+        assertEquals(40L, productStore.findProductIdByProductIdentifier("P-40").orElseThrow());
+        assertEquals(3L, productStore.findVersionByProductId(40L).orElseThrow().version());
+    }
+
+    @Test
+    void save_Unchanged_KeepsVersion() {
+        // Arrange
+        Long productId = productStore.save(Product.builder().productIdentifier("P-1").build()).getProductId();
+        Product product = productStore.findAllById(List.of(productId)).get(0);
+
+        // Act
+        productStore.save(product);
+
+        // Assert
+        assertEquals(0L, productStore.findVersionByProductId(productId).orElseThrow().version());
+    }
+}
@@ -0,0 +1,91 @@
+package com.xpanse.cp.product.repository;
+
+import com.xpanse.cp.product.entity.Product;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the store contract against H2 with every repository call in its own transaction, as the
+ * service calls it, so products come back detached.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.xpanse.cp.product.repository.JpaProductStoreTest$RecordingStatementInspector")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JpaProductStoreTest extends ProductStoreContractTest {
+
+    @Autowired
+    private ProductManagementRepository productManagementRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        productManagementRepository.deleteAll();
+    }
+
+    @Test
+    void saveAndFlush_ChangedName_UpdatesOnlyNameAndVersionColumns() {
+        // Arrange
+        Long productId = productManagementRepository.save(Product.builder()
+                .productIdentifier("P-1")
+                .productName("Product P-1")
+                .environmentsSupported("PRODUCTION")
+                .ownerEmail("owner@xpanse.com")
+                .build()).getProductId();
+        RecordingStatementInspector.STATEMENTS.clear();
+
+        // Act
+        inTransaction(() -> {
+            Product product = productManagementRepository.findById(productId).orElseThrow();
+            product.setProductName("Renamed");
+            return productManagementRepository.saveAndFlush(product);
+        });
+
+        // Assert
+        List<String> updates = RecordingStatementInspector.STATEMENTS.stream()
+                .filter(sql -> sql.startsWith("update product "))
+                .toList();
+        assertEquals(1, updates.size(), updates::toString);
+        String setClause = updates.get(0).substring(0, updates.get(0).indexOf(" where "));
+        assertTrue(setClause.contains("product_name=?"), setClause);
+        assertTrue(setClause.contains("version=?"), setClause);
+        assertFalse(setClause.contains("owner_email"), setClause);
+        assertFalse(setClause.contains("product_identifier"), setClause);
+    }
+
+    @Override
+    protected ProductStore productStore() {
+        return productManagementRepository;
+    }
+
+    @Override
+    protected <T> T inTransaction(Supplier<T> action) {
+        return new TransactionTemplate(transactionManager).execute(status -> action.get());
+    }
+
+    /** keeps the SQL Hibernate prepares, to check which columns an update sets */
+    public static class RecordingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.xpanse.cp.product.repository;
+
+import com.xpanse.cp.product.entity.Product;
+import com.xpanse.cp.product.model.ProductView;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Behaviour every {@link ProductStore} has to share, run against each implementation.
+ */
+abstract class ProductStoreContractTest {
+
+    protected abstract ProductStore productStore();
+
+    /**
+     * Runs the action in a transaction where the store needs one.
+     */
+    protected <T> T inTransaction(Supplier<T> action) {
+        return action.get();
+    }
+
+    @Test
+    void save_AssignsIdVersionAndCreatedDate() {
+        // Act
+        Product saved = productStore().save(product("P-1", false, "tenant-a"));
+
+        // Assert
+        assertNotNull(saved.getProductId());
+        assertEquals(0L, saved.getVersion());
+        assertNotNull(saved.getCreatedDate());
+        ProductView view = productStore().findViewByProductId(saved.getProductId()).orElseThrow();
+        assertEquals("P-1", view.productIdentifier());
+        assertEquals(Set.of("tenant-a"), view.allowedTenants());
+        assertEquals(saved.getProductId(), productStore().findProductIdByProductIdentifier("P-1").orElseThrow());
+        assertEquals(1, productStore().count());
+    }
+
+    @Test
+    void saveAndFlush_WithDuplicateIdentifier_ThrowsDataIntegrityViolation() {
+        // Arrange
+        productStore().saveAndFlush(product("P-1", false));
+
+        // Act & Assert
+        assertThrows(DataIntegrityViolationException.class, () -> productStore().saveAndFlush(product("P-1", false)));
+        assertEquals(1, productStore().count());
+    }
+
+    @Test
+    void saveAll_FailingInTransaction_LeavesNothingBehind() {
+        // Arrange
+        Long productId = productStore().save(product("P-1", false)).getProductId();
+
+        // Act
+        assertThrows(DataIntegrityViolationException.class, () -> inTransaction(() -> {
+            Product renamed = productStore().findAllById(List.of(productId)).get(0);
+            renamed.setProductIdentifier("P-0");
+            productStore().save(renamed);
+            return productStore().saveAll(List.of(product("P-2", false), product("P-3", false),
+                    product("P-2", false)));
+        }));
+
+        // Assert
+        assertEquals(1, productStore().count());
+        assertTrue(productStore().findProductIdByProductIdentifier("P-2").isEmpty());
+        assertTrue(productStore().findProductIdByProductIdentifier("P-3").isEmpty());
+        assertTrue(productStore().findProductIdByProductIdentifier("P-0").isEmpty());
+        assertEquals(productId, productStore().findProductIdByProductIdentifier("P-1").orElseThrow());
+        assertEquals(0L, productStore().findViewByProductId(productId).orElseThrow().version());
+        // the identifiers of the rolled back batch are free again
+        assertNotNull(productStore().saveAll(List.of(product("P-2", false))).get(0).getProductId());
+    }
+
+    @Test
+    void save_WithStaleVersion_ThrowsOptimisticLockingFailure() {
+        // Arrange
+        Long productId = productStore().save(product("P-1", false)).getProductId();
+        Product first = productStore().findAllById(List.of(productId)).get(0);
+        Product second = productStore().findAllById(List.of(productId)).get(0);
+        first.setExpired(true);
+        productStore().save(first);
+
+        // Act & Assert
+        second.setProductName("Renamed");
+        assertThrows(OptimisticLockingFailureException.class, () -> productStore().save(second));
+        ProductView view = productStore().findViewByProductId(productId).orElseThrow();
+        assertTrue(view.expired());
+        assertEquals(1L, view.version());
+        assertEquals("Product P-1", view.productName());
+    }
+
+    @Test
+    void save_Unchanged_KeepsVersion() {
+        // Arrange
+        Long productId = productStore().save(product("P-1", false, "tenant-a")).getProductId();
+
+        // Act
+        Product saved = productStore().save(productStore().findById(productId).orElseThrow());
+
+        // Assert
+        assertEquals(0L, saved.getVersion());
+        ProductView view = productStore().findViewByProductId(productId).orElseThrow();
+        assertEquals(0L, view.version());
+        assertNull(view.updatedDate());
+    }
+
+    @Test
+    void save_WithNewIdentifierAndTenants_MovesKeys() {
+        // Arrange
+        Long productId = productStore().save(product("P-1", false, "tenant-a", "tenant-b")).getProductId();
+        Product product = productStore().findById(productId).orElseThrow();
+        product.setProductIdentifier("P-2");
+        product.getAllowedTenants().remove("tenant-a");
+        product.getAllowedTenants().add("tenant-c");
+
+        // Act
+        productStore().saveAndFlush(product);
+
+        // Assert
+        ProductView view = productStore().findViewByProductId(productId).orElseThrow();
+        assertEquals(1L, view.version());
+        assertNotNull(view.updatedDate());
+        assertEquals(Set.of("tenant-b", "tenant-c"), view.allowedTenants());
+        assertEquals(productId, productStore().findProductIdByProductIdentifier("P-2").orElseThrow());
+        assertTrue(productStore().findProductIdByProductIdentifier("P-1").isEmpty());
+        assertNotNull(productStore().save(product("P-1", false)).getProductId());
+    }
+
+    @Test
+    void findProductIds_PagesByKeysetAndFilters() {
+        // Arrange
+        Long first = productStore().save(product("P-1", false, "tenant-a")).getProductId();
+        Long second = productStore().save(product("P-2", true, "tenant-a")).getProductId();
+        Long third = productStore().save(product("P-3", false, "tenant-b")).getProductId();
+
+        // Act & Assert
+        assertEquals(List.of(first, second), productStore().findProductIds(0L, true, Limit.of(2)));
+        assertEquals(List.of(third), productStore().findProductIds(second, true, Limit.of(2)));
+        assertEquals(List.of(first, third), productStore().findProductIds(0L, false, Limit.of(5)));
+        assertEquals(List.of(first, second), productStore().findProductIdsByTenant("tenant-a", 0L, true, Limit.of(5)));
+        assertEquals(List.of(first), productStore().findProductIdsByTenant("tenant-a", 0L, false, Limit.of(5)));
+        assertEquals(Set.of("P-1", "P-3"), productStore().findExistingProductIdentifiers(List.of("P-1", "P-3", "P-9")));
+    }
+
+    @Test
+    void scans_CoverEveryProduct() {
+        // Arrange
+        Long first = productStore().save(product("P-1", false, "tenant-a", "tenant-b")).getProductId();
+        Long second = productStore().save(product("P-2", true)).getProductId();
+
+        // Act & Assert
+        assertEquals(Set.of(new ProductKey(first, "P-1"), new ProductKey(second, "P-2")),
+                Set.copyOf(productStore().findAllProductKeys()));
+        assertEquals(Set.of(new TenantProductKey("tenant-a", first), new TenantProductKey("tenant-b", first)),
+                Set.copyOf(productStore().findAllTenantProductKeys()));
+        assertEquals(List.of(new ProductExpiry(first, LocalDate.of(2030, 1, 31))),
+                productStore().findAllUpcomingExpiries());
+        assertEquals(2, productStore().findAllSearchKeys().size());
+        List<Long> streamed = inTransaction(() -> {
+            try (Stream<ProductView> views = productStore().streamAllViews()) {
+                return views.map(ProductView::productId).toList();
+            }
+        });
+        assertEquals(List.of(first, second), streamed);
+        assertEquals(List.of(first, second), productStore().findViewsByProductIdIn(List.of(second, first, 99L))
+                .stream().map(ProductView::productId).toList());
+    }
+
+    private static Product product(String productIdentifier, boolean expired, String... tenantIds) {
+        return Product.builder()
+                .productIdentifier(productIdentifier)
+                .productName("Product " + productIdentifier)
+                .expirationDate(LocalDate.of(2030, 1, 31))
+                .expired(expired)
+                .environmentsSupported("PRODUCTION")
+                .ownerEmail("owner@xpanse.com")
+                .allowedTenants(new HashSet<>(Set.of(tenantIds)))
+                .build();
+    }
+}
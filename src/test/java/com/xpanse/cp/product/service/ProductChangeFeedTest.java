@@ -0,0 +1,192 @@
+package com.xpanse.cp.product.service;
+
+import com.xpanse.cp.product.entity.Product;
+import com.xpanse.cp.product.entity.ProductChangeLog;
+import com.xpanse.cp.product.event.ProductChangedEvent;
+import com.xpanse.cp.product.exception.InvalidRequestException;
+import com.xpanse.cp.product.model.ProductChange;
+import com.xpanse.cp.product.model.ProductChangePage;
+import com.xpanse.cp.product.repository.ProductChangeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductChangeFeedTest {
+
+    @Mock
+    private ProductChangeRepository productChangeRepository;
+
+    private ProductChangeFeed productChangeFeed;
+
+    private final List<ProductChange> appended = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        productChangeFeed = new ProductChangeFeed(productChangeRepository, Runnable::run, 100, Duration.ofSeconds(30));
+    }
+
+    @Test
+    void onProductChanged_AppendsChangeLogEntry() {
+        // Arrange
+        when(productChangeRepository.save(any(ProductChangeLog.class))).thenAnswer(invocation -> {
+            ProductChangeLog change = invocation.getArgument(0);
+            change.setSequence(1L);
+            return change;
+        });
+
+        // Act
+        productChangeFeed.onProductChanged(createdEvent(7L));
+
+        // Assert
+        ArgumentCaptor<ProductChangeLog> change = ArgumentCaptor.forClass(ProductChangeLog.class);
+        verify(productChangeRepository).save(change.capture());
+        assertEquals(7L, change.getValue().getProductId());
+        assertEquals(ProductChangedEvent.ChangeType.CREATED, change.getValue().getChangeType());
+    }
+
+    @Test
+    void read_ReturnsCursorOfLastChange() {
+        // Arrange
+        when(productChangeRepository.findChanges(0L, Long.MAX_VALUE, Limit.of(10)))
+                .thenReturn(List.of(change(1L), change(2L)));
+
+        // Act
+        ProductChangePage page = productChangeFeed.read(0L, 10);
+
+        // Assert
+        assertEquals(2, page.changes().size());
+        assertEquals(2L, page.nextSince());
+    }
+
+    @Test
+    void read_WithOpenTransaction_StopsBelowItsSequenceUntilCommit() {
+        // Arrange
+        List<TransactionSynchronization> openTransaction = appendInOpenTransaction(1L);
+        append(2L);
+
+        // Act
+        ProductChangePage whileOpen = productChangeFeed.read(0L, 10);
+        openTransaction.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        ProductChangePage afterCommit = productChangeFeed.read(0L, 10);
+
+        // Assert
+        assertTrue(whileOpen.changes().isEmpty());
+        assertEquals(0L, whileOpen.nextSince());
+        verify(productChangeRepository).findChanges(0L, 0L, Limit.of(10));
+        assertEquals(List.of(1L, 2L), afterCommit.changes().stream().map(ProductChange::sequence).toList());
+        assertEquals(2L, afterCommit.nextSince());
+    }
+
+    @Test
+    void read_WithOpenTransaction_SkipsItsSequenceOnceRolledBack() {
+        // Arrange
+        List<TransactionSynchronization> openTransaction = appendInOpenTransaction(1L);
+        append(2L);
+
+        // Act
+        ProductChangePage whileOpen = productChangeFeed.read(0L, 10);
+        appended.removeIf(change -> change.sequence() == 1L);
+        openTransaction.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        ProductChangePage afterRollback = productChangeFeed.read(0L, 10);
+
+        // Assert
+        assertEquals(0L, whileOpen.nextSince());
+        assertEquals(List.of(2L), afterRollback.changes().stream().map(ProductChange::sequence).toList());
+        assertEquals(2L, afterRollback.nextSince());
+    }
+
+    @Test
+    void poll_WithoutNewChanges_CompletesOnNextCommit() throws Exception {
+        // Arrange
+        when(productChangeRepository.findChanges(eq(2L), anyLong(), any()))
+                .thenReturn(List.of())
+                .thenReturn(List.of(change(3L)));
+        when(productChangeRepository.save(any(ProductChangeLog.class))).thenAnswer(invocation -> {
+            ProductChangeLog change = invocation.getArgument(0);
+            change.setSequence(3L);
+            return change;
+        });
+        CompletableFuture<ProductChangePage> poll = productChangeFeed.poll(2L, 10, Duration.ofSeconds(10));
+        assertFalse(poll.isDone());
+
+        // Act
+        productChangeFeed.onProductChanged(createdEvent(7L));
+
+        // Assert
+        ProductChangePage page = poll.get(5, TimeUnit.SECONDS);
+        assertEquals(3L, page.nextSince());
+    }
+
+    @Test
+    void poll_WithWaitAboveMaximum_ThrowsInvalidRequestException() {
+        // Act & Assert
+        assertThrows(InvalidRequestException.class,
+                () -> productChangeFeed.poll(0L, 10, Duration.ofMinutes(5)));
+
+        verifyNoInteractions(productChangeRepository);
+    }
+
+    /**
+     * Appends a change inside a transaction that stays open, returning its completion callbacks.
+     */
+    private List<TransactionSynchronization> appendInOpenTransaction(Long sequence) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            append(sequence);
+            return TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    /**
+     * Appends a change that findChanges returns at once, so only the feed's watermark hides
+     * an uncommitted one.
+     */
+    private void append(Long sequence) {
+        doAnswer(invocation -> {
+            ProductChangeLog change = invocation.getArgument(0);
+            change.setSequence(sequence);
+            appended.add(change(sequence));
+            return change;
+        }).when(productChangeRepository).save(any(ProductChangeLog.class));
+        lenient().when(productChangeRepository.findChanges(anyLong(), anyLong(), any())).thenAnswer(invocation -> {
+            long since = invocation.getArgument(0);
+            long upTo = invocation.getArgument(1);
+            return appended.stream().filter(change -> change.sequence() > since && change.sequence() <= upTo).toList();
+        });
+        productChangeFeed.onProductChanged(createdEvent(sequence));
+    }
+
+    private ProductChangedEvent createdEvent(Long productId) {
+        Product product = new Product();
+        product.setProductId(productId);
+        product.setProductIdentifier("TEST-" + productId);
+        return new ProductChangedEvent(product, ProductChangedEvent.ChangeType.CREATED);
+    }
+
+    private ProductChange change(Long sequence) {
+        return new ProductChange(sequence, sequence, "TEST-" + sequence, ProductChangedEvent.ChangeType.CREATED,
+                LocalDateTime.of(2025, 1, 1, 0, 0));
+    }
+}
@@ -0,0 +1,146 @@
+package com.xpanse.cp.product.service;
+
+import com.xpanse.cp.product.cache.ProductIdentifierIndex;
+import com.xpanse.cp.product.entity.APIResponse;
+import com.xpanse.cp.product.exception.CreateQueueFullException;
+import com.xpanse.cp.product.exception.DuplicateProductException;
+import com.xpanse.cp.product.exception.InvalidRequestException;
+import com.xpanse.cp.product.exception.OperationNotFoundException;
+import com.xpanse.cp.product.model.BatchCreateResponse;
+import com.xpanse.cp.product.model.BatchCreateResult;
+import com.xpanse.cp.product.model.CreateOperation;
+import com.xpanse.cp.product.model.ProductDetails;
+import com.xpanse.cp.product.repository.ProductManagementRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductCreateQueueTest {
+
+    @Mock
+    private ProductManagementService productManagementService;
+
+    @Mock
+    private ProductManagementRepository productManagementRepository;
+
+    private ProductCreateQueue productCreateQueue;
+
+    @BeforeEach
+    void setUp() {
+        productCreateQueue = new ProductCreateQueue(productManagementService,
+                new ProductIdentifierIndex(productManagementRepository), 2, 10, Duration.ofMinutes(1), 100, false);
+    }
+
+    @Test
+    void flush_WritesQueuedCreatesAsOneBatch() {
+        // Arrange
+        CreateOperation first = productCreateQueue.submit(createProductDetails("TEST-001"));
+        CreateOperation second = productCreateQueue.submit(createProductDetails("TEST-002"));
+        when(productManagementService.createProducts(anyList())).thenReturn(new BatchCreateResponse(1, 1, List.of(
+                new BatchCreateResult(0, "TEST-001", 1L, BatchCreateResult.Status.CREATED, "saved"),
+                new BatchCreateResult(1, "TEST-002", null, BatchCreateResult.Status.DUPLICATE, "exists"))));
+
+        // Act
+        int written = productCreateQueue.flush();
+
+        // Assert
+        assertEquals(2, written);
+        verify(productManagementService, times(1)).createProducts(anyList());
+        assertEquals(CreateOperation.Status.CREATED, productCreateQueue.getOperation(first.operationId()).status());
+        assertEquals(1L, productCreateQueue.getOperation(first.operationId()).productId());
+        assertEquals(CreateOperation.Status.DUPLICATE, productCreateQueue.getOperation(second.operationId()).status());
+    }
+
+    @Test
+    void flush_WhenBatchAndItemFail_MarksOperationsFailed() {
+        // Arrange
+        CreateOperation operation = productCreateQueue.submit(createProductDetails("TEST-001"));
+        when(productManagementService.createProducts(anyList())).thenThrow(new IllegalStateException("down"));
+        when(productManagementService.createProduct(any(ProductDetails.class)))
+                .thenThrow(new IllegalStateException("down"));
+
+        // Act
+        productCreateQueue.flush();
+
+        // Assert
+        assertEquals(CreateOperation.Status.FAILED, productCreateQueue.getOperation(operation.operationId()).status());
+    }
+
+    @Test
+    void flush_WhenBatchFails_CreatesItemsOneByOne() {
+        // Arrange
+        CreateOperation created = productCreateQueue.submit(createProductDetails("TEST-001"));
+        CreateOperation duplicate = productCreateQueue.submit(createProductDetails("TEST-002"));
+        when(productManagementService.createProducts(anyList()))
+                .thenThrow(new DataIntegrityViolationException("uk_product_identifier"));
+        APIResponse saved = new APIResponse();
+        saved.setMessage("Product details saved successfully");
+        when(productManagementService.createProduct(any(ProductDetails.class))).thenAnswer(invocation -> {
+            ProductDetails request = invocation.getArgument(0);
+            if ("TEST-002".equals(request.getProductIdentifier())) {
+                throw new DuplicateProductException("Product with id TEST-002 already exists");
+            }
+            return saved;
+        });
+
+        // Act
+        productCreateQueue.flush();
+
+        // Assert
+        assertEquals(CreateOperation.Status.CREATED, productCreateQueue.getOperation(created.operationId()).status());
+        CreateOperation duplicateOutcome = productCreateQueue.getOperation(duplicate.operationId());
+        assertEquals(CreateOperation.Status.DUPLICATE, duplicateOutcome.status());
+        assertEquals("Product with id TEST-002 already exists", duplicateOutcome.message());
+        verify(productManagementService, times(2)).createProduct(any(ProductDetails.class));
+    }
+
+    @Test
+    void submit_WhenQueueIsFull_ThrowsCreateQueueFullException() {
+        // Arrange
+        productCreateQueue.submit(createProductDetails("TEST-001"));
+        productCreateQueue.submit(createProductDetails("TEST-002"));
+
+        // Act & Assert
+        assertThrows(CreateQueueFullException.class,
+                () -> productCreateQueue.submit(createProductDetails("TEST-003")));
+    }
+
+    @Test
+    void submit_WithInvalidRequest_ThrowsWithoutQueueing() {
+        // Arrange
+        ProductDetails request = createProductDetails("TEST-001");
+        request.setProductName(" ");
+
+        // Act & Assert
+        assertThrows(InvalidRequestException.class, () -> productCreateQueue.submit(request));
+        assertEquals(0, productCreateQueue.flush());
+    }
+
+    @Test
+    void getOperation_WithUnknownId_ThrowsOperationNotFoundException() {
+        // Act & Assert
+        assertThrows(OperationNotFoundException.class, () -> productCreateQueue.getOperation("unknown"));
+    }
+
+    private ProductDetails createProductDetails(String productIdentifier) {
+        ProductDetails details = new ProductDetails();
+        details.setProductIdentifier(productIdentifier);
+        details.setProductName("Test Product");
+        details.setEnvironmentsSupported(ProductDetails.EnvironmentsSupported.PRODUCTION);
+        details.setOwnerEmail("test@example.com");
+        details.setAllowedTenant("tenant1");
+        return details;
+    }
+}
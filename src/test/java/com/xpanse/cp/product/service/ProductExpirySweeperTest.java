@@ -0,0 +1,188 @@
+package com.xpanse.cp.product.service;
+
+import com.xpanse.cp.product.entity.Product;
+import com.xpanse.cp.product.event.ProductChangedEvent;
+import com.xpanse.cp.product.repository.ProductManagementRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductExpirySweeperTest {
+
+    @Mock
+    private ProductManagementService productManagementService;
+
+    @Mock
+    private ProductManagementRepository productManagementRepository;
+
+    private MutableClock clock;
+
+    private ProductExpirySweeper productExpirySweeper;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(LocalDate.of(2025, 1, 10).atStartOfDay(ZoneOffset.UTC).toInstant());
+        productExpirySweeper = new ProductExpirySweeper(productManagementService, productManagementRepository, 2,
+                Duration.ofMinutes(1), clock);
+    }
+
+    @AfterEach
+    void tearDown() {
+        productExpirySweeper.shutdown();
+    }
+
+    @Test
+    void sweep_ExpiresOnlyProductsPastTheirDate() {
+        // Arrange
+        productExpirySweeper.onProductChanged(createdEvent(1L, LocalDate.of(2025, 1, 12)));
+        productExpirySweeper.onProductChanged(createdEvent(2L, LocalDate.of(2025, 1, 20)));
+        clock.instant = LocalDate.of(2025, 1, 15).atStartOfDay(ZoneOffset.UTC).toInstant();
+
+        // Act
+        int due = productExpirySweeper.sweep();
+
+        // Assert
+        assertEquals(1, due);
+        verify(productManagementService).expireProducts(List.of(1L));
+    }
+
+    @Test
+    void sweep_OnExpirationDate_KeepsProductValid() {
+        // Arrange
+        productExpirySweeper.onProductChanged(createdEvent(1L, LocalDate.of(2025, 1, 12)));
+        clock.instant = LocalDate.of(2025, 1, 12).atTime(23, 0).toInstant(ZoneOffset.UTC);
+
+        // Act
+        int due = productExpirySweeper.sweep();
+
+        // Assert
+        assertEquals(0, due);
+        verify(productManagementService, never()).expireProducts(any());
+    }
+
+    @Test
+    void sweep_WithMoreDueThanBatchSize_ExpiresInBatches() {
+        // Arrange
+        for (long id = 1; id <= 5; id++) {
+            productExpirySweeper.onProductChanged(createdEvent(id, LocalDate.of(2025, 1, 11)));
+        }
+        clock.instant = LocalDate.of(2025, 1, 13).atStartOfDay(ZoneOffset.UTC).toInstant();
+
+        // Act
+        int due = productExpirySweeper.sweep();
+
+        // Assert
+        assertEquals(5, due);
+        verify(productManagementService, times(3)).expireProducts(any());
+    }
+
+    @Test
+    void sweep_AfterFailedBatch_ExpiresProductsOnNextSweep() {
+        // Arrange
+        productExpirySweeper.onProductChanged(createdEvent(1L, LocalDate.of(2025, 1, 11)));
+        productExpirySweeper.onProductChanged(createdEvent(2L, LocalDate.of(2025, 1, 12)));
+        clock.instant = LocalDate.of(2025, 1, 15).atStartOfDay(ZoneOffset.UTC).toInstant();
+        when(productManagementService.expireProducts(any())).thenThrow(new IllegalStateException("down")).thenReturn(2);
+        assertEquals(2, productExpirySweeper.sweep());
+
+        // Act
+        int due = productExpirySweeper.sweep();
+
+        // Assert
+        assertEquals(2, due);
+        verify(productManagementService, times(2)).expireProducts(argThat(batch -> batch.containsAll(List.of(1L, 2L))));
+        assertEquals(0, productExpirySweeper.sweep());
+    }
+
+    @Test
+    void onProductChanged_WithAlreadyExpiredProduct_IsNotQueued() {
+        // Arrange
+        ProductChangedEvent event = createdEvent(1L, LocalDate.of(2025, 1, 11));
+        event.product().setExpired(true);
+        productExpirySweeper.onProductChanged(event);
+        clock.instant = LocalDate.of(2025, 1, 13).atStartOfDay(ZoneOffset.UTC).toInstant();
+
+        // Act & Assert
+        assertEquals(0, productExpirySweeper.sweep());
+    }
+
+    @Test
+    void onProductChanged_WithUpdatedExpirationDate_MovesProductToNewDate() {
+        // Arrange
+        productExpirySweeper.onProductChanged(createdEvent(1L, LocalDate.of(2025, 1, 11)));
+        ProductChangedEvent updated = createdEvent(1L, LocalDate.of(2025, 1, 20));
+        productExpirySweeper.onProductChanged(
+                new ProductChangedEvent(updated.product(), ProductChangedEvent.ChangeType.UPDATED));
+        clock.instant = LocalDate.of(2025, 1, 13).atStartOfDay(ZoneOffset.UTC).toInstant();
+
+        // Act
+        int due = productExpirySweeper.sweep();
+
+        // Assert
+        assertEquals(0, due);
+        clock.instant = LocalDate.of(2025, 1, 21).atStartOfDay(ZoneOffset.UTC).toInstant();
+        assertEquals(1, productExpirySweeper.sweep());
+        verify(productManagementService).expireProducts(List.of(1L));
+    }
+
+    @Test
+    void onProductChanged_WithExpirationDateRemoved_DequeuesProduct() {
+        // Arrange
+        productExpirySweeper.onProductChanged(createdEvent(1L, LocalDate.of(2025, 1, 11)));
+        ProductChangedEvent updated = createdEvent(1L, null);
+        productExpirySweeper.onProductChanged(
+                new ProductChangedEvent(updated.product(), ProductChangedEvent.ChangeType.UPDATED));
+        clock.instant = LocalDate.of(2025, 1, 13).atStartOfDay(ZoneOffset.UTC).toInstant();
+
+        // Act & Assert
+        assertEquals(0, productExpirySweeper.sweep());
+    }
+
+    private ProductChangedEvent createdEvent(Long productId, LocalDate expirationDate) {
+        Product product = new Product();
+        product.setProductId(productId);
+        product.setProductIdentifier("TEST-" + productId);
+        product.setExpirationDate(expirationDate);
+        return new ProductChangedEvent(product, ProductChangedEvent.ChangeType.CREATED);
+    }
+
+    private static final class MutableClock extends Clock {
+        private volatile Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
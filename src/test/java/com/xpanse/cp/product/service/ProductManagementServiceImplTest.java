@@ -1,23 +1,49 @@
 package com.xpanse.cp.product.service;
 
+import com.xpanse.cp.product.cache.ProductIdentifierIndex;
+import com.xpanse.cp.product.cache.ProductSearchIndex;
+import com.xpanse.cp.product.cache.ProductCache;
+import com.xpanse.cp.product.cache.TenantProductIndex;
 import com.xpanse.cp.product.entity.APIResponse;
 import com.xpanse.cp.product.entity.Product;
+import com.xpanse.cp.product.event.ProductChangedEvent;
 import com.xpanse.cp.product.exception.DuplicateProductException;
 import com.xpanse.cp.product.exception.InvalidRequestException;
+import com.xpanse.cp.product.exception.ProductConflictException;
 import com.xpanse.cp.product.exception.ProductNotFoundException;
+import com.xpanse.cp.product.model.BatchCreateResponse;
+import com.xpanse.cp.product.model.BatchCreateResult;
 import com.xpanse.cp.product.model.ProductDetails;
+import com.xpanse.cp.product.model.ProductMultiGetResponse;
+import com.xpanse.cp.product.model.ProductPage;
+import com.xpanse.cp.product.model.ProductVersion;
+import com.xpanse.cp.product.model.ProductView;
 import com.xpanse.cp.product.repository.ProductManagementRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -26,7 +52,14 @@ class ProductManagementServiceImplTest {
     @Mock
     private ProductManagementRepository productManagementRepository;
 
-    @InjectMocks
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private ProductIdentifierIndex productIdentifierIndex;
+    private TenantProductIndex tenantProductIndex;
+    private ProductSearchIndex productSearchIndex;
+    private ProductCache productCache;
+
     private ProductManagementServiceImpl productManagementService;
 
     private ProductDetails validProductDetails;
@@ -34,6 +67,12 @@ class ProductManagementServiceImplTest {
 
     @BeforeEach
     void setUp() {
+        productIdentifierIndex = new ProductIdentifierIndex(productManagementRepository);
+        tenantProductIndex = new TenantProductIndex(productManagementRepository);
+        productSearchIndex = new ProductSearchIndex(productManagementRepository);
+        productCache = new ProductCache(100, Duration.ofMinutes(1), Duration.ofSeconds(5));
+        productManagementService = new ProductManagementServiceImpl(productManagementRepository,
+                productCache, productIdentifierIndex, tenantProductIndex, productSearchIndex, eventPublisher, 100, 50);
         validProductDetails = createValidProductDetails();
         savedProduct = createSavedProduct();
     }
@@ -41,9 +80,7 @@ class ProductManagementServiceImplTest {
     @Test
     void createProduct_WithValidRequest_ReturnsSuccessResponse() {
         // Arrange
-        when(productManagementRepository.existsByProductIdentifier(validProductDetails.getProductIdentifier()))
-                .thenReturn(false);
-        when(productManagementRepository.save(any(Product.class)))
+        when(productManagementRepository.saveAndFlush(any(Product.class)))
                 .thenReturn(savedProduct);
 
         // Act
@@ -53,15 +90,15 @@ class ProductManagementServiceImplTest {
         assertNotNull(response);
         assertEquals("Success", response.getStatus());
         assertEquals("Product details saved successfully", response.getMessage());
-        verify(productManagementRepository).existsByProductIdentifier(validProductDetails.getProductIdentifier());
-        verify(productManagementRepository).save(any(Product.class));
+        verify(productManagementRepository).saveAndFlush(any(Product.class));
     }
 
     @Test
     void createProduct_WithDuplicateProductIdentifier_ThrowsDuplicateProductException() {
         // Arrange
-        when(productManagementRepository.existsByProductIdentifier(validProductDetails.getProductIdentifier()))
-                .thenReturn(true);
+        when(productManagementRepository.saveAndFlush(any(Product.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate", new ConstraintViolationException(
+                        "duplicate", null, "PUBLIC.UK_PRODUCT_IDENTIFIER_INDEX_1")));
 
         // Act & Assert
         DuplicateProductException exception = assertThrows(DuplicateProductException.class,
@@ -69,8 +106,33 @@ class ProductManagementServiceImplTest {
 
         assertEquals("Product with id " + validProductDetails.getProductIdentifier() + " already exists",
                 exception.getMessage());
-        verify(productManagementRepository).existsByProductIdentifier(validProductDetails.getProductIdentifier());
-        verify(productManagementRepository, never()).save(any(Product.class));
+        assertTrue(productIdentifierIndex.contains(validProductDetails.getProductIdentifier()));
+        verify(productManagementRepository).saveAndFlush(any(Product.class));
+    }
+
+    @Test
+    void createProduct_WithKnownProductIdentifier_ThrowsWithoutQuery() {
+        // Arrange
+        productIdentifierIndex.put(validProductDetails.getProductIdentifier(), 1L);
+
+        // Act & Assert
+        assertThrows(DuplicateProductException.class,
+                () -> productManagementService.createProduct(validProductDetails));
+
+        verifyNoInteractions(productManagementRepository);
+    }
+
+    @Test
+    void createProduct_WithOtherIntegrityViolation_Rethrows() {
+        // Arrange
+        when(productManagementRepository.saveAndFlush(any(Product.class)))
+                .thenThrow(new DataIntegrityViolationException("value too long"));
+
+        // Act & Assert
+        assertThrows(DataIntegrityViolationException.class,
+                () -> productManagementService.createProduct(validProductDetails));
+
+        assertFalse(productIdentifierIndex.contains(validProductDetails.getProductIdentifier()));
     }
 
     @Test
@@ -79,8 +141,7 @@ class ProductManagementServiceImplTest {
         assertThrows(InvalidRequestException.class,
                 () -> productManagementService.createProduct(null));
 
-        verify(productManagementRepository, never()).existsByProductIdentifier(any());
-        verify(productManagementRepository, never()).save(any());
+        verify(productManagementRepository, never()).saveAndFlush(any());
     }
 
     @Test
@@ -93,8 +154,7 @@ class ProductManagementServiceImplTest {
         assertThrows(InvalidRequestException.class,
                 () -> productManagementService.createProduct(invalidRequest));
 
-        verify(productManagementRepository, never()).existsByProductIdentifier(any());
-        verify(productManagementRepository, never()).save(any());
+        verify(productManagementRepository, never()).saveAndFlush(any());
     }
 
     @Test
@@ -107,32 +167,31 @@ class ProductManagementServiceImplTest {
         assertThrows(InvalidRequestException.class,
                 () -> productManagementService.createProduct(invalidRequest));
 
-        verify(productManagementRepository, never()).existsByProductIdentifier(any());
-        verify(productManagementRepository, never()).save(any());
+        verify(productManagementRepository, never()).saveAndFlush(any());
     }
 
     @Test
     void getByProductId_WithExistingId_ReturnsProduct() {
         // Arrange
         Long productId = 1L;
-        when(productManagementRepository.findByProductId(productId))
-                .thenReturn(Optional.of(savedProduct));
+        when(productManagementRepository.findViewByProductId(productId))
+                .thenReturn(Optional.of(ProductView.of(savedProduct)));
 
         // Act
-        Product result = productManagementService.getByProductId(productId);
+        ProductView result = productManagementService.getByProductId(productId);
 
         // Assert
         assertNotNull(result);
-        assertEquals(savedProduct.getProductId(), result.getProductId());
-        assertEquals(savedProduct.getProductName(), result.getProductName());
-        verify(productManagementRepository).findByProductId(productId);
+        assertEquals(savedProduct.getProductId(), result.productId());
+        assertEquals(savedProduct.getProductName(), result.productName());
+        verify(productManagementRepository).findViewByProductId(productId);
     }
 
     @Test
     void getByProductId_WithNonExistingId_ThrowsProductNotFoundException() {
         // Arrange
         Long nonExistingId = 999L;
-        when(productManagementRepository.findByProductId(nonExistingId))
+        when(productManagementRepository.findViewByProductId(nonExistingId))
                 .thenReturn(Optional.empty());
 
         // Act & Assert
@@ -140,7 +199,615 @@ class ProductManagementServiceImplTest {
                 () -> productManagementService.getByProductId(nonExistingId));
 
         assertEquals("No Product found with id: | {} " + nonExistingId, exception.getMessage());
-        verify(productManagementRepository).findByProductId(nonExistingId);
+        verify(productManagementRepository).findViewByProductId(nonExistingId);
+    }
+
+    @Test
+    void getByProductId_RepeatedMiss_QueriesOnceWithoutStackTrace() {
+        // Arrange
+        Long nonExistingId = 999L;
+        when(productManagementRepository.findViewByProductId(nonExistingId))
+                .thenReturn(Optional.empty());
+
+        // Act
+        assertThrows(ProductNotFoundException.class, () -> productManagementService.getByProductId(nonExistingId));
+        ProductNotFoundException exception = assertThrows(ProductNotFoundException.class,
+                () -> productManagementService.getByProductId(nonExistingId));
+
+        // Assert
+        assertEquals(0, exception.getStackTrace().length);
+        verify(productManagementRepository, times(1)).findViewByProductId(nonExistingId);
+    }
+
+    @Test
+    void getByProductId_RepeatedLookup_ServedFromCache() {
+        // Arrange
+        Long productId = 1L;
+        when(productManagementRepository.findViewByProductId(productId))
+                .thenReturn(Optional.of(ProductView.of(savedProduct)));
+
+        // Act
+        productManagementService.getByProductId(productId);
+        ProductView result = productManagementService.getByProductId(productId);
+
+        // Assert
+        assertEquals(savedProduct.getProductId(), result.productId());
+        verify(productManagementRepository, times(1)).findViewByProductId(productId);
+    }
+
+    @Test
+    void getByProductId_MissThenCreated_FindsProduct() {
+        // Arrange
+        Long productId = savedProduct.getProductId();
+        when(productManagementRepository.findViewByProductId(productId))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(ProductView.of(savedProduct)));
+        assertThrows(ProductNotFoundException.class, () -> productManagementService.getByProductId(productId));
+
+        // Act
+        productCache.onProductChanged(new ProductChangedEvent(savedProduct, ProductChangedEvent.ChangeType.CREATED));
+        ProductView result = productManagementService.getByProductId(productId);
+
+        // Assert
+        assertEquals(productId, result.productId());
+        verify(productManagementRepository, times(2)).findViewByProductId(productId);
+    }
+
+    @Test
+    void createProduct_WithValidRequest_PublishesCreatedEvent() {
+        // Arrange
+        when(productManagementRepository.saveAndFlush(any(Product.class)))
+                .thenReturn(savedProduct);
+
+        // Act
+        productManagementService.createProduct(validProductDetails);
+
+        // Assert
+        ArgumentCaptor<ProductChangedEvent> event = ArgumentCaptor.forClass(ProductChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(savedProduct.getProductId(), event.getValue().productId());
+        assertEquals(ProductChangedEvent.ChangeType.CREATED, event.getValue().changeType());
+    }
+
+    @Test
+    void getProductVersion_WithCachedProduct_SkipsQuery() {
+        // Arrange
+        savedProduct.setVersion(2L);
+        when(productManagementRepository.findViewByProductId(1L))
+                .thenReturn(Optional.of(ProductView.of(savedProduct)));
+        productManagementService.getByProductId(1L);
+
+        // Act
+        ProductVersion version = productManagementService.getProductVersion(1L);
+
+        // Assert
+        assertEquals("W/\"2\"", version.eTag());
+        verify(productManagementRepository, never()).findVersionByProductId(any());
+    }
+
+    @Test
+    void getProductVersion_WithUncachedProduct_ReadsVersionOnly() {
+        // Arrange
+        when(productManagementRepository.findVersionByProductId(1L))
+                .thenReturn(Optional.of(new ProductVersion(5L, LocalDateTime.of(2024, 1, 1, 0, 0))));
+
+        // Act
+        ProductVersion version = productManagementService.getProductVersion(1L);
+
+        // Assert
+        assertEquals(5L, version.version());
+        verify(productManagementRepository, never()).findViewByProductId(any());
+    }
+
+    @Test
+    void getProductVersion_WithNonExistingId_ThrowsProductNotFoundException() {
+        // Arrange
+        when(productManagementRepository.findVersionByProductId(999L))
+                .thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(ProductNotFoundException.class, () -> productManagementService.getProductVersion(999L));
+    }
+
+    @Test
+    void getProductVersion_WithNonExistingIdRequestedAgain_AnswersFromNegativeCache() {
+        // Arrange
+        when(productManagementRepository.findVersionByProductId(999L))
+                .thenReturn(Optional.empty());
+        assertThrows(ProductNotFoundException.class, () -> productManagementService.getProductVersion(999L));
+
+        // Act & Assert
+        assertThrows(ProductNotFoundException.class, () -> productManagementService.getProductVersion(999L));
+        assertThrows(ProductNotFoundException.class, () -> productManagementService.getByProductId(999L));
+        verify(productManagementRepository, times(1)).findVersionByProductId(999L);
+        verify(productManagementRepository, never()).findViewByProductId(any());
+    }
+
+    @Test
+    void getByProductIdentifier_WithIndexedIdentifier_SkipsIdentifierQuery() {
+        // Arrange
+        productIdentifierIndex.put("TEST-001", 1L);
+        when(productManagementRepository.findViewByProductId(1L))
+                .thenReturn(Optional.of(ProductView.of(savedProduct)));
+
+        // Act
+        ProductView result = productManagementService.getByProductIdentifier("TEST-001");
+
+        // Assert
+        assertEquals(savedProduct.getProductId(), result.productId());
+        verify(productManagementRepository, never()).findProductIdByProductIdentifier(any());
+    }
+
+    @Test
+    void getByProductIdentifier_WithUnindexedIdentifier_ResolvesAndIndexesId() {
+        // Arrange
+        when(productManagementRepository.findProductIdByProductIdentifier("TEST-001"))
+                .thenReturn(Optional.of(1L));
+        when(productManagementRepository.findViewByProductId(1L))
+                .thenReturn(Optional.of(ProductView.of(savedProduct)));
+
+        // Act
+        ProductView result = productManagementService.getByProductIdentifier("TEST-001");
+
+        // Assert
+        assertEquals(savedProduct.getProductIdentifier(), result.productIdentifier());
+        assertEquals(1L, productIdentifierIndex.getProductId("TEST-001"));
+    }
+
+    @Test
+    void getByProductIdentifier_WithUnknownIdentifier_ThrowsProductNotFoundException() {
+        // Arrange
+        when(productManagementRepository.findProductIdByProductIdentifier("UNKNOWN"))
+                .thenReturn(Optional.empty());
+
+        // Act & Assert
+        ProductNotFoundException exception = assertThrows(ProductNotFoundException.class,
+                () -> productManagementService.getByProductIdentifier("UNKNOWN"));
+
+        assertEquals("No Product found with identifier: | {} UNKNOWN", exception.getMessage());
+        verify(productManagementRepository, never()).findViewByProductId(any());
+    }
+
+    @Test
+    void listProducts_WithMoreRows_ReturnsNextCursor() {
+        // Arrange
+        when(productManagementRepository.findProductIds(0L, true, Limit.of(3)))
+                .thenReturn(List.of(1L, 2L, 3L));
+        when(productManagementRepository.findViewsByProductIdIn(Set.of(1L, 2L, 3L)))
+                .thenReturn(List.of(view(1L, false), view(2L, false), view(3L, false)));
+
+        // Act
+        ProductPage page = productManagementService.listProducts(null, 2, false);
+
+        // Assert
+        assertEquals(2, page.items().size());
+        assertEquals(2L, page.nextCursor());
+    }
+
+    @Test
+    void listProducts_OnLastPage_ReturnsNoCursor() {
+        // Arrange
+        when(productManagementRepository.findProductIds(1L, true, Limit.of(3)))
+                .thenReturn(List.of(2L));
+        when(productManagementRepository.findViewsByProductIdIn(Set.of(2L)))
+                .thenReturn(List.of(view(2L, false)));
+
+        // Act
+        ProductPage page = productManagementService.listProducts(1L, 2, false);
+
+        // Assert
+        assertEquals(1, page.items().size());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void listProducts_WithLimitAboveMaximum_ThrowsInvalidRequestException() {
+        // Act & Assert
+        assertThrows(InvalidRequestException.class,
+                () -> productManagementService.listProducts(null, 51, false));
+
+        verifyNoInteractions(productManagementRepository);
+    }
+
+    @Test
+    void listProductsByTenant_WithWarmIndex_ServesFromPostingList() {
+        // Arrange
+        when(productManagementRepository.findAllTenantProductKeys()).thenReturn(List.of());
+        tenantProductIndex.warmUp();
+        tenantProductIndex.put(1L, 0L, Set.of("tenant1"));
+        tenantProductIndex.put(2L, 0L, Set.of("tenant1", "tenant2"));
+        tenantProductIndex.put(3L, 0L, Set.of("tenant2"));
+        when(productManagementRepository.findViewsByProductIdIn(Set.of(1L, 2L)))
+                .thenReturn(List.of(view(1L, false), view(2L, false)));
+
+        // Act
+        ProductPage page = productManagementService.listProductsByTenant("tenant1", null, 5, false);
+
+        // Assert
+        assertEquals(List.of(1L, 2L), page.items().stream().map(ProductView::productId).toList());
+        assertNull(page.nextCursor());
+        verify(productManagementRepository, never()).findProductIdsByTenant(any(), any(), anyBoolean(), any());
+    }
+
+    @Test
+    void getByProductIds_ServesCachedAndQueriesRestInOneCall() {
+        // Arrange
+        productCache.put(view(1L, false));
+        productCache.markMissing(9L, productCache.generation());
+        when(productManagementRepository.findViewsByProductIdIn(Set.of(2L, 3L)))
+                .thenReturn(List.of(view(2L, false)));
+
+        // Act
+        ProductMultiGetResponse response = productManagementService.getByProductIds(List.of(1L, 9L, 2L, 3L, 1L));
+
+        // Assert
+        assertEquals(List.of(1L, 2L), response.items().stream().map(ProductView::productId).toList());
+        assertEquals(List.of(9L, 3L), response.notFound());
+        assertTrue(productCache.isKnownMissing(3L));
+        verify(productManagementRepository, times(1)).findViewsByProductIdIn(any());
+    }
+
+    @Test
+    void getByProductIds_WithTooManyIds_ThrowsInvalidRequestException() {
+        // Arrange
+        List<Long> productIds = LongStream.rangeClosed(1, 51).boxed().toList();
+
+        // Act & Assert
+        assertThrows(InvalidRequestException.class,
+                () -> productManagementService.getByProductIds(productIds));
+
+        verifyNoInteractions(productManagementRepository);
+    }
+
+    @Test
+    void searchProducts_ServesMatchesFromIndexAndCache() {
+        // Arrange
+        productSearchIndex.put(1L, "PRD-1", "Cloud Storage", false);
+        productSearchIndex.put(2L, "PRD-2", "Managed Cloud", false);
+        productSearchIndex.put(3L, "PRD-3", "Compute", false);
+        when(productManagementRepository.findViewsByProductIdIn(Set.of(1L, 2L)))
+                .thenReturn(List.of(view(1L, false), view(2L, false)));
+
+        // Act
+        List<ProductView> products = productManagementService.searchProducts("cloud", 10, false);
+
+        // Assert
+        assertEquals(List.of(1L, 2L), products.stream().map(ProductView::productId).toList());
+    }
+
+    @Test
+    void searchProducts_WithBlankQuery_ThrowsInvalidRequestException() {
+        // Act & Assert
+        assertThrows(InvalidRequestException.class,
+                () -> productManagementService.searchProducts(" ", 10, false));
+
+        verifyNoInteractions(productManagementRepository);
+    }
+
+    @Test
+    void listProductsByTenant_BeforeWarmUp_QueriesDatabase() {
+        // Arrange
+        when(productManagementRepository.findProductIdsByTenant("tenant1", 0L, true, Limit.of(2)))
+                .thenReturn(List.of(1L));
+        when(productManagementRepository.findViewsByProductIdIn(Set.of(1L)))
+                .thenReturn(List.of(view(1L, false)));
+
+        // Act
+        ProductPage page = productManagementService.listProductsByTenant("tenant1", null, 1, false);
+
+        // Assert
+        assertEquals(1, page.items().size());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void createProduct_WithTenantList_MergesLegacyTenant() {
+        // Arrange
+        validProductDetails.setAllowedTenants(List.of("tenant2", " ", "tenant1"));
+        when(productManagementRepository.saveAndFlush(any(Product.class)))
+                .thenReturn(savedProduct);
+
+        // Act
+        productManagementService.createProduct(validProductDetails);
+
+        // Assert
+        ArgumentCaptor<Product> product = ArgumentCaptor.forClass(Product.class);
+        verify(productManagementRepository).saveAndFlush(product.capture());
+        assertEquals(Set.of("tenant1", "tenant2"), product.getValue().getAllowedTenants());
+    }
+
+    @Test
+    void listProducts_ExcludingExpired_UsesActiveQuery() {
+        // Arrange
+        when(productManagementRepository.findProductIds(0L, false, Limit.of(3)))
+                .thenReturn(List.of(1L));
+        when(productManagementRepository.findViewsByProductIdIn(Set.of(1L)))
+                .thenReturn(List.of(view(1L, false)));
+
+        // Act
+        ProductPage page = productManagementService.listProducts(null, 2, true);
+
+        // Assert
+        assertEquals(1, page.items().size());
+        verify(productManagementRepository, never()).findProductIds(any(), eq(true), any());
+    }
+
+    @Test
+    void listProductsByTenant_WithStalePosting_SkipsProductNoLongerGranted() {
+        // Arrange
+        when(productManagementRepository.findAllTenantProductKeys()).thenReturn(List.of());
+        tenantProductIndex.warmUp();
+        tenantProductIndex.put(1L, 0L, Set.of("tenant2"));
+        tenantProductIndex.put(2L, 0L, Set.of("tenant2"));
+        when(productManagementRepository.findViewsByProductIdIn(Set.of(1L, 2L)))
+                .thenReturn(List.of(view(1L, false), view(2L, false)));
+
+        // Act
+        ProductPage page = productManagementService.listProductsByTenant("tenant2", null, 5, false);
+
+        // Assert
+        assertEquals(List.of(), page.items());
+    }
+
+    @Test
+    void listProductsByTenant_ExcludingExpired_FillsPageFromLaterPostings() {
+        // Arrange
+        when(productManagementRepository.findAllTenantProductKeys()).thenReturn(List.of());
+        tenantProductIndex.warmUp();
+        List<ProductView> products = new java.util.ArrayList<>();
+        for (long id = 1; id <= 4; id++) {
+            products.add(view(id, id <= 2));
+            tenantProductIndex.put(id, 0L, Set.of("tenant1"));
+        }
+        when(productManagementRepository.findViewsByProductIdIn(any())).thenAnswer(invocation -> {
+            Set<Long> ids = invocation.getArgument(0);
+            return products.stream().filter(product -> ids.contains(product.productId())).toList();
+        });
+
+        // Act
+        ProductPage page = productManagementService.listProductsByTenant("tenant1", null, 1, true);
+
+        // Assert
+        assertEquals(List.of(3L), page.items().stream().map(ProductView::productId).toList());
+        assertEquals(3L, page.nextCursor());
+    }
+
+    @Test
+    void createProduct_WithMalformedExpirationDate_ThrowsInvalidRequestException() {
+        // Arrange
+        validProductDetails.setExpirationDate("31/12/2024");
+
+        // Act & Assert
+        assertThrows(InvalidRequestException.class,
+                () -> productManagementService.createProduct(validProductDetails));
+
+        verifyNoInteractions(productManagementRepository);
+    }
+
+    @Test
+    void createProduct_WithPastExpirationDate_StoresExpiredProduct() {
+        // Arrange
+        when(productManagementRepository.saveAndFlush(any(Product.class)))
+                .thenReturn(savedProduct);
+
+        // Act
+        productManagementService.createProduct(validProductDetails);
+
+        // Assert
+        ArgumentCaptor<Product> product = ArgumentCaptor.forClass(Product.class);
+        verify(productManagementRepository).saveAndFlush(product.capture());
+        assertEquals(LocalDate.of(2024, 12, 31), product.getValue().getExpirationDate());
+        assertTrue(product.getValue().isExpired());
+    }
+
+    @Test
+    void expireProducts_FlagsOnlyActiveProducts() {
+        // Arrange
+        Product alreadyExpired = createSavedProduct();
+        alreadyExpired.setProductId(2L);
+        alreadyExpired.setExpired(true);
+        when(productManagementRepository.findAllById(List.of(1L, 2L)))
+                .thenReturn(List.of(savedProduct, alreadyExpired));
+
+        // Act
+        int expired = productManagementService.expireProducts(List.of(1L, 2L));
+
+        // Assert
+        assertEquals(1, expired);
+        assertTrue(savedProduct.isExpired());
+        ArgumentCaptor<ProductChangedEvent> event = ArgumentCaptor.forClass(ProductChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(ProductChangedEvent.ChangeType.EXPIRED, event.getValue().changeType());
+        assertEquals(1L, event.getValue().productId());
+    }
+
+    @Test
+    void updateProduct_WithChanges_SavesAndPublishesUpdate() {
+        // Arrange
+        Product stored = createStoredProduct();
+        when(productManagementRepository.findById(1L)).thenReturn(Optional.of(stored));
+        when(productManagementRepository.saveAndFlush(stored)).thenAnswer(invocation -> {
+            stored.setVersion(4L);
+            return stored;
+        });
+        validProductDetails.setProductName("Renamed");
+        validProductDetails.setProductIdentifier("TEST-002");
+        validProductDetails.setAllowedTenants(List.of("tenant2"));
+
+        // Act
+        ProductView updated = productManagementService.updateProduct(1L, validProductDetails, 3L);
+
+        // Assert
+        assertEquals("Renamed", updated.productName());
+        assertEquals(4L, updated.version());
+        assertEquals(Set.of("tenant1", "tenant2"), updated.allowedTenants());
+        ArgumentCaptor<ProductChangedEvent> event = ArgumentCaptor.forClass(ProductChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(ProductChangedEvent.ChangeType.UPDATED, event.getValue().changeType());
+        assertEquals("TEST-001", event.getValue().previousProductIdentifier());
+        productIdentifierIndex.onProductChanged(event.getValue());
+        assertFalse(productIdentifierIndex.contains("TEST-001"));
+        assertEquals(1L, productIdentifierIndex.getProductId("TEST-002"));
+    }
+
+    @Test
+    void patchProduct_WithoutChanges_SkipsWriteAndEvent() {
+        // Arrange
+        when(productManagementRepository.findById(1L)).thenReturn(Optional.of(createStoredProduct()));
+        ProductDetails patch = new ProductDetails();
+        patch.setProductName("Test Product");
+        patch.setAllowedTenant("tenant1");
+
+        // Act
+        ProductView product = productManagementService.patchProduct(1L, patch, null);
+
+        // Assert
+        assertEquals(3L, product.version());
+        verify(productManagementRepository, never()).saveAndFlush(any(Product.class));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void patchProduct_ChangesOnlyGivenFields() {
+        // Arrange
+        Product stored = createStoredProduct();
+        when(productManagementRepository.findById(1L)).thenReturn(Optional.of(stored));
+        when(productManagementRepository.saveAndFlush(stored)).thenReturn(stored);
+        ProductDetails patch = new ProductDetails();
+        patch.setOwnerEmail("new-owner@example.com");
+
+        // Act
+        ProductView product = productManagementService.patchProduct(1L, patch, 3L);
+
+        // Assert
+        assertEquals("new-owner@example.com", product.ownerEmail());
+        assertEquals("Test Product", product.productName());
+        assertEquals(LocalDate.of(2024, 12, 31), product.expirationDate());
+        assertTrue(product.expired());
+        assertEquals(Set.of("tenant1"), product.allowedTenants());
+    }
+
+    @Test
+    void patchProduct_WithStaleExpectedVersion_ThrowsConflictWithoutWrite() {
+        // Arrange
+        when(productManagementRepository.findById(1L)).thenReturn(Optional.of(createStoredProduct()));
+        ProductDetails patch = new ProductDetails();
+        patch.setProductName("Renamed");
+
+        // Act & Assert
+        assertThrows(ProductConflictException.class, () -> productManagementService.patchProduct(1L, patch, 2L));
+        verify(productManagementRepository, never()).saveAndFlush(any(Product.class));
+    }
+
+    @Test
+    void patchProduct_WithConcurrentWrite_ThrowsConflict() {
+        // Arrange
+        when(productManagementRepository.findById(1L)).thenReturn(Optional.of(createStoredProduct()));
+        when(productManagementRepository.saveAndFlush(any(Product.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Product.class, 1L));
+        ProductDetails patch = new ProductDetails();
+        patch.setProductName("Renamed");
+
+        // Act & Assert
+        assertThrows(ProductConflictException.class, () -> productManagementService.patchProduct(1L, patch, null));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void patchProduct_ToKnownIdentifier_ThrowsDuplicateWithoutWrite() {
+        // Arrange
+        productIdentifierIndex.put("TEST-002", 2L);
+        when(productManagementRepository.findById(1L)).thenReturn(Optional.of(createStoredProduct()));
+        ProductDetails patch = new ProductDetails();
+        patch.setProductIdentifier("TEST-002");
+
+        // Act & Assert
+        assertThrows(DuplicateProductException.class, () -> productManagementService.patchProduct(1L, patch, null));
+        verify(productManagementRepository, never()).saveAndFlush(any(Product.class));
+    }
+
+    @Test
+    void patchProduct_WithBlankName_ThrowsInvalidRequest() {
+        // Arrange
+        ProductDetails patch = new ProductDetails();
+        patch.setProductName(" ");
+
+        // Act & Assert
+        assertThrows(InvalidRequestException.class, () -> productManagementService.patchProduct(1L, patch, null));
+        verifyNoInteractions(productManagementRepository);
+    }
+
+    @Test
+    void updateProduct_WithUnknownId_ThrowsNotFound() {
+        // Arrange
+        when(productManagementRepository.findById(9L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(ProductNotFoundException.class,
+                () -> productManagementService.updateProduct(9L, validProductDetails, null));
+    }
+
+    @Test
+    void createProducts_WithMixedItems_ReturnsResultPerItem() {
+        // Arrange
+        ProductDetails existing = createValidProductDetails();
+        existing.setProductIdentifier("TEST-EXISTING");
+        ProductDetails invalid = createValidProductDetails();
+        invalid.setOwnerEmail(" ");
+        ProductDetails repeated = createValidProductDetails();
+        when(productManagementRepository.findExistingProductIdentifiers(Set.of("TEST-001", "TEST-EXISTING")))
+                .thenReturn(Set.of("TEST-EXISTING"));
+        when(productManagementRepository.saveAllAndFlush(anyList())).thenReturn(List.of(savedProduct));
+
+        // Act
+        BatchCreateResponse response = productManagementService.createProducts(
+                List.of(validProductDetails, existing, invalid, repeated));
+
+        // Assert
+        assertEquals(1, response.created());
+        assertEquals(3, response.rejected());
+        assertEquals(BatchCreateResult.Status.CREATED, response.results().get(0).status());
+        assertEquals(savedProduct.getProductId(), response.results().get(0).productId());
+        assertEquals(BatchCreateResult.Status.DUPLICATE, response.results().get(1).status());
+        assertEquals(BatchCreateResult.Status.INVALID, response.results().get(2).status());
+        assertEquals(BatchCreateResult.Status.DUPLICATE, response.results().get(3).status());
+        verify(productManagementRepository, times(1)).findExistingProductIdentifiers(any());
+        verify(eventPublisher, times(1)).publishEvent(any(ProductChangedEvent.class));
+    }
+
+    @Test
+    void createProducts_WithIdentifierInsertedConcurrently_ThrowsDuplicateProductException() {
+        // Arrange
+        when(productManagementRepository.findExistingProductIdentifiers(Set.of("TEST-001"))).thenReturn(Set.of());
+        when(productManagementRepository.saveAllAndFlush(anyList()))
+                .thenThrow(new DataIntegrityViolationException("duplicate", new ConstraintViolationException(
+                        "duplicate", null, "PUBLIC.UK_PRODUCT_IDENTIFIER_INDEX_1")));
+
+        // Act & Assert
+        assertThrows(DuplicateProductException.class,
+                () -> productManagementService.createProducts(List.of(validProductDetails)));
+
+        verify(eventPublisher, never()).publishEvent(any(ProductChangedEvent.class));
+    }
+
+    @Test
+    void createProducts_WithOtherIntegrityViolation_Rethrows() {
+        // Arrange
+        when(productManagementRepository.saveAllAndFlush(anyList()))
+                .thenThrow(new DataIntegrityViolationException("value too long"));
+
+        // Act & Assert
+        assertThrows(DataIntegrityViolationException.class,
+                () -> productManagementService.createProducts(List.of(validProductDetails)));
+    }
+
+    @Test
+    void createProducts_WithEmptyList_ThrowsInvalidRequestException() {
+        // Act & Assert
+        assertThrows(InvalidRequestException.class,
+                () -> productManagementService.createProducts(List.of()));
+
+        verify(productManagementRepository, never()).saveAllAndFlush(anyList());
     }
 
     @Test
@@ -153,8 +820,7 @@ class ProductManagementServiceImplTest {
         assertThrows(InvalidRequestException.class,
                 () -> productManagementService.createProduct(request));
 
-        verify(productManagementRepository, never()).existsByProductIdentifier(any());
-        verify(productManagementRepository, never()).save(any());
+        verify(productManagementRepository, never()).saveAndFlush(any());
     }
 
     private ProductDetails createValidProductDetails() {
@@ -173,10 +839,26 @@ class ProductManagementServiceImplTest {
         product.setProductId(1L);
         product.setProductName("Test Product");
         product.setProductIdentifier("TEST-001");
-        product.setExpirationDate("2024-12-31");
+        product.setExpirationDate(LocalDate.of(2024, 12, 31));
         product.setEnvironmentsSupported("PRODUCTION");
         product.setOwnerEmail("test@example.com");
-        product.setAllowedTenant("tenant1");
+        product.setAllowedTenants(Set.of("tenant1"));
         return product;
     }
-}
\ No newline at end of file
+
+    /** as read for an update: version 3, past its expiration date, mutable tenants */
+    private Product createStoredProduct() {
+        Product product = createSavedProduct();
+        product.setExpired(true);
+        product.setVersion(3L);
+        product.setAllowedTenants(new HashSet<>(Set.of("tenant1")));
+        return product;
+    }
+
+    private ProductView view(Long productId, boolean expired) {
+        Product product = createSavedProduct();
+        product.setProductId(productId);
+        product.setExpired(expired);
+        return ProductView.of(product);
+    }
+}
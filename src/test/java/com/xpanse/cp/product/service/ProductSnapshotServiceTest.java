@@ -0,0 +1,143 @@
+package com.xpanse.cp.product.service;
+
+import com.xpanse.cp.product.cache.ProductCache;
+import com.xpanse.cp.product.model.ProductView;
+import com.xpanse.cp.product.repository.ProductBulkLoader;
+import com.xpanse.cp.product.repository.ProductManagementRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductSnapshotServiceTest {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2024, 5, 1, 10, 15, 30, 123_000_000);
+
+    @Mock
+    private ProductManagementRepository productManagementRepository;
+
+    @Mock
+    private ProductBulkLoader productBulkLoader;
+
+    @TempDir
+    private Path tempDir;
+
+    private ProductCache productCache;
+    private ProductSnapshotService productSnapshotService;
+
+    @BeforeEach
+    void setUp() {
+        productCache = new ProductCache(100, Duration.ofMinutes(10), Duration.ofSeconds(5));
+        productSnapshotService = new ProductSnapshotService(productManagementRepository, productBulkLoader,
+                productCache, 2, "");
+    }
+
+    @Test
+    void writeThenImport_RoundTripsEveryColumn() throws Exception {
+        // Arrange
+        when(productManagementRepository.streamAllViews()).thenReturn(Stream.of(
+                view(1L, "tenant-a", "tenant-b"),
+                new ProductView(2L, "P-2", null, null, true, null, null, Set.of(), null, null, null),
+                view(3L, "tenant-c")));
+        Path snapshot = write();
+        // the batch list is reused, so copy it when loaded
+        List<List<ProductView>> batches = new ArrayList<>();
+        doAnswer(invocation -> batches.add(List.copyOf(invocation.getArgument(0))))
+                .when(productBulkLoader).loadAll(anyList());
+
+        // Act
+        long loaded = productSnapshotService.importSnapshot(snapshot);
+
+        // Assert
+        assertEquals(3, loaded);
+        assertEquals(List.of(2, 1), batches.stream().map(List::size).toList());
+        assertEquals(3L, batches.get(1).get(0).productId());
+        assertEquals(view(1L, "tenant-a", "tenant-b"), productCache.getIfPresent(1L));
+        assertEquals(new ProductView(2L, "P-2", null, null, true, null, null, Set.of(), null, null, null),
+                productCache.getIfPresent(2L));
+        verify(productBulkLoader).moveIdsPast(3L);
+    }
+
+    @Test
+    void importSnapshot_WithEmptyCatalog_InsertsNothing() throws Exception {
+        // Arrange
+        when(productManagementRepository.streamAllViews()).thenReturn(Stream.empty());
+        Path snapshot = write();
+
+        // Act
+        long loaded = productSnapshotService.importSnapshot(snapshot);
+
+        // Assert
+        assertEquals(0, loaded);
+        verifyNoInteractions(productBulkLoader);
+    }
+
+    @Test
+    void importSnapshot_WithTruncatedFile_Throws() throws Exception {
+        // Arrange
+        when(productManagementRepository.streamAllViews()).thenReturn(Stream.of(view(1L, "tenant-a")));
+        Path snapshot = write();
+        byte[] bytes = Files.readAllBytes(snapshot);
+        Files.write(snapshot, Arrays.copyOf(bytes, bytes.length - 12));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> productSnapshotService.importSnapshot(snapshot));
+    }
+
+    @Test
+    void importSnapshot_WithForeignFile_Throws() throws Exception {
+        // Arrange
+        Path snapshot = Files.writeString(tempDir.resolve("products.json"), "{\"productId\":1}");
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> productSnapshotService.importSnapshot(snapshot));
+        verifyNoInteractions(productBulkLoader);
+    }
+
+    @Test
+    void loadOnStartup_WithNonEmptyCatalog_SkipsLoad() throws Exception {
+        // Arrange
+        Path snapshot = Files.write(tempDir.resolve("products.snapshot"), new byte[]{0});
+        productSnapshotService = new ProductSnapshotService(productManagementRepository, productBulkLoader,
+                productCache, 2, snapshot.toString());
+        when(productManagementRepository.count()).thenReturn(5L);
+
+        // Act
+        productSnapshotService.loadOnStartup();
+
+        // Assert
+        verify(productBulkLoader, never()).loadAll(anyList());
+        verify(productBulkLoader, never()).moveIdsPast(anyLong());
+    }
+
+    private Path write() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        productSnapshotService.writeSnapshot(out);
+        return Files.write(tempDir.resolve("products.snapshot"), out.toByteArray());
+    }
+
+    private static ProductView view(Long productId, String... tenantIds) {
+        return new ProductView(productId, "P-" + productId, "Product " + productId, LocalDate.of(2030, 1, 31), false,
+                "DEV,PROD", "owner@xpanse.com", Set.of(tenantIds), CREATED, null, 4L);
+    }
+}
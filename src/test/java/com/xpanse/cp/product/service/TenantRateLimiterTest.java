@@ -0,0 +1,130 @@
+package com.xpanse.cp.product.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TenantRateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong clock = new AtomicLong(1_000 * SECOND);
+    private TenantRateLimiter tenantRateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        // reads 10/s with a burst of 5, writes 2/s with a burst of 2
+        tenantRateLimiter = new TenantRateLimiter(10, 5, 2, 2, 100, clock::get);
+    }
+
+    @Test
+    void tryAcquire_WithinBurst_AdmitsThenRejectsWithWait() {
+        // Act
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, tenantRateLimiter.tryAcquire("tenant1", TenantRateLimiter.Budget.READ));
+        }
+        long wait = tenantRateLimiter.tryAcquire("tenant1", TenantRateLimiter.Budget.READ);
+
+        // Assert
+        assertEquals(SECOND / 10, wait);
+        assertEquals(1, tenantRateLimiter.rejections(TenantRateLimiter.Budget.READ));
+    }
+
+    @Test
+    void tryAcquire_AfterInterval_RefillsOneToken() {
+        // Arrange
+        tenantRateLimiter.tryAcquire("tenant1", TenantRateLimiter.Budget.WRITE);
+        tenantRateLimiter.tryAcquire("tenant1", TenantRateLimiter.Budget.WRITE);
+        assertTrue(tenantRateLimiter.tryAcquire("tenant1", TenantRateLimiter.Budget.WRITE) > 0);
+
+        // Act
+        clock.addAndGet(SECOND / 2);
+
+        // Assert
+        assertEquals(0, tenantRateLimiter.tryAcquire("tenant1", TenantRateLimiter.Budget.WRITE));
+        assertTrue(tenantRateLimiter.tryAcquire("tenant1", TenantRateLimiter.Budget.WRITE) > 0);
+    }
+
+    @Test
+    void tryAcquire_WritesExhausted_LeavesReadsAndOtherTenantsAlone() {
+        // Arrange
+        tenantRateLimiter.tryAcquire("tenant1", TenantRateLimiter.Budget.WRITE);
+        tenantRateLimiter.tryAcquire("tenant1", TenantRateLimiter.Budget.WRITE);
+
+        // Act & Assert
+        assertTrue(tenantRateLimiter.tryAcquire("tenant1", TenantRateLimiter.Budget.WRITE) > 0);
+        assertEquals(0, tenantRateLimiter.tryAcquire("tenant1", TenantRateLimiter.Budget.READ));
+        assertEquals(0, tenantRateLimiter.tryAcquire("tenant2", TenantRateLimiter.Budget.WRITE));
+    }
+
+    @Test
+    void tryAcquire_IdleLongerThanBurst_DoesNotBankTokens() {
+        // Arrange
+        clock.addAndGet(60 * SECOND);
+
+        // Act
+        int admitted = 0;
+        while (tenantRateLimiter.tryAcquire("tenant1", TenantRateLimiter.Budget.READ) == 0) {
+            admitted++;
+        }
+
+        // Assert
+        assertEquals(5, admitted);
+    }
+
+    @Test
+    void tryAcquire_ConcurrentCallers_AdmitExactlyTheBurst() throws Exception {
+        // Arrange
+        tenantRateLimiter = new TenantRateLimiter(10, 1000, 2, 2, 100, clock::get);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // Act
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            results.add(executor.submit(() -> {
+                int admitted = 0;
+                for (int i = 0; i < 500; i++) {
+                    if (tenantRateLimiter.tryAcquire("tenant1", TenantRateLimiter.Budget.READ) == 0) {
+                        admitted++;
+                    }
+                }
+                return admitted;
+            }));
+        }
+        int admitted = 0;
+        for (Future<Integer> result : results) {
+            admitted += result.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Assert
+        assertEquals(1000, admitted);
+        assertEquals(3000, tenantRateLimiter.rejections(TenantRateLimiter.Budget.READ));
+    }
+
+    @Test
+    void bindTo_RegistersRejectionCounterPerBudget() {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        tenantRateLimiter.bindTo(registry);
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            tenantRateLimiter.tryAcquire("tenant1", TenantRateLimiter.Budget.WRITE);
+        }
+
+        // Assert
+        assertEquals(1, registry.get("product.rate-limit.rejections").tag("budget", "write").functionCounter().count());
+        assertEquals(0, registry.get("product.rate-limit.rejections").tag("budget", "read").functionCounter().count());
+    }
+}